@@ -0,0 +1,106 @@
+package com.datoro.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datoro.minhasfinancas.api.dto.LancamentoDTO;
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.service.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Conversões entre {@link LancamentoDTO} e {@link Lancamento} feitas pelo
+ * {@link LancamentoResource} em cada requisição.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversaoLancamentoBenchmark {
+
+	private LancamentoResource resource;
+	private Usuario usuario;
+	private LancamentoDTO dto;
+	private Lancamento lancamento;
+
+	@Setup
+	public void preparar() {
+		usuario = Usuario.builder().id(1L).build();
+		resource = new LancamentoResource(null, new UsuariosDaRequisicao(new UsuarioServiceFixo(usuario)),
+				new ObjectMapper(), null, null);
+
+		dto = LancamentoDTO.builder().descricao("Conta de luz").mes(8).ano(2020).valor(BigDecimal.valueOf(180.35))
+				.usuario(1L).tipo("DESPESA").status("PENDENTE").build();
+		lancamento = Lancamento.builder().id(1L).descricao("Conta de luz").mes(8).ano(2020)
+				.valor(BigDecimal.valueOf(180.35)).usuario(usuario).tipo(TipoLancamento.DESPESA)
+				.status(StatusLancamento.PENDENTE).build();
+	}
+
+	/** DTO para entidade, com o usuário já conferido na requisição. */
+	@Benchmark
+	public Lancamento converterDto() {
+		return resource.converter(dto);
+	}
+
+	/** DTO para entidade com o usuário em mãos, como no lote. */
+	@Benchmark
+	public Lancamento converterDtoComUsuario() {
+		return resource.converter(dto, usuario);
+	}
+
+	@Benchmark
+	public LancamentoDTO converterEntidade() {
+		return resource.converter(lancamento);
+	}
+
+	private static class UsuarioServiceFixo implements UsuarioService {
+
+		private final Optional<Usuario> usuario;
+
+		UsuarioServiceFixo(Usuario usuario) {
+			this.usuario = Optional.of(usuario);
+		}
+
+		@Override
+		public Usuario autenticar(String email, String senha) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Usuario salvarUsuario(Usuario usuario) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void validarEmail(String email) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Optional<Usuario> obterPorId(Long id) {
+			return usuario;
+		}
+
+		@Override
+		public Optional<Usuario> obterReferencia(Long id) {
+			return usuario;
+		}
+	}
+}
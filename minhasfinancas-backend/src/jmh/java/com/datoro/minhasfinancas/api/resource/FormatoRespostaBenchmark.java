@@ -0,0 +1,108 @@
+package com.datoro.minhasfinancas.api.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.datoro.minhasfinancas.config.FormatosRespostaConfig;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialização da resposta da busca de lançamentos em JSON, Smile e CBOR, com e
+ * sem gzip. Os mapeadores são os mesmos dos conversores da aplicação. O tamanho
+ * de cada formato é impresso no início do fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatoRespostaBenchmark {
+
+	@Param({ "50", "1000" })
+	private int tamanho;
+
+	private ObjectMapper json;
+	private ObjectMapper smile;
+	private ObjectMapper cbor;
+	private List<LancamentoProjecao> lancamentos;
+
+	@Setup
+	public void preparar() throws IOException {
+		FormatosRespostaConfig config = new FormatosRespostaConfig();
+		json = Jackson2ObjectMapperBuilder.json().build();
+		smile = config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+		cbor = config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+
+		lancamentos = new ArrayList<>(tamanho);
+		for (int i = 0; i < tamanho; i++) {
+			lancamentos.add(new LancamentoProjecao((long) i, "Lançamento " + i % 20, i % 12 + 1, 2020,
+					BigDecimal.valueOf(i * 137L % 100000, 2), 1L,
+					i % 2 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA,
+					i % 3 == 0 ? StatusLancamento.EFETIVADO : StatusLancamento.PENDENTE));
+		}
+
+		System.out.printf("%n%d lançamentos em bytes: json=%d json+gzip=%d smile=%d smile+gzip=%d cbor=%d cbor+gzip=%d%n",
+				tamanho, json().length, jsonGzip().length, smile().length, smileGzip().length, cbor().length,
+				cborGzip().length);
+	}
+
+	@Benchmark
+	public byte[] json() throws IOException {
+		return json.writeValueAsBytes(lancamentos);
+	}
+
+	@Benchmark
+	public byte[] smile() throws IOException {
+		return smile.writeValueAsBytes(lancamentos);
+	}
+
+	@Benchmark
+	public byte[] cbor() throws IOException {
+		return cbor.writeValueAsBytes(lancamentos);
+	}
+
+	@Benchmark
+	public byte[] jsonGzip() throws IOException {
+		return gzip(json);
+	}
+
+	@Benchmark
+	public byte[] smileGzip() throws IOException {
+		return gzip(smile);
+	}
+
+	@Benchmark
+	public byte[] cborGzip() throws IOException {
+		return gzip(cbor);
+	}
+
+	private byte[] gzip(ObjectMapper mapper) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream saida = new GZIPOutputStream(bytes)) {
+			mapper.writeValue(saida, lancamentos);
+		}
+		return bytes.toByteArray();
+	}
+}
@@ -0,0 +1,76 @@
+package com.datoro.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.datoro.minhasfinancas.api.dto.LancamentoDTO;
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialização JSON de uma lista de entidades (com o usuário aninhado) contra a
+ * mesma lista convertida para {@link LancamentoDTO}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoLancamentoBenchmark {
+
+	@Param({ "50", "500" })
+	private int tamanho;
+
+	private ObjectMapper objectMapper;
+	private List<Lancamento> entidades;
+	private List<LancamentoDTO> dtos;
+
+	@Setup
+	public void preparar() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		LancamentoResource resource = new LancamentoResource(null, null, objectMapper, null, null);
+
+		Usuario usuario = Usuario.builder().id(1L).nome("Usuario").email("usuario@email.com").senha("senha").build();
+		entidades = new ArrayList<>(tamanho);
+		dtos = new ArrayList<>(tamanho);
+		for (int i = 0; i < tamanho; i++) {
+			Lancamento lancamento = Lancamento.builder().id((long) i).descricao("Lançamento " + i).mes(i % 12 + 1)
+					.ano(2020).valor(BigDecimal.valueOf(i, 2)).usuario(usuario).dataCadastro(LocalDate.of(2020, 1, 1))
+					.tipo(i % 2 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+					.status(StatusLancamento.PENDENTE).build();
+			entidades.add(lancamento);
+			dtos.add(resource.converter(lancamento));
+		}
+	}
+
+	@Benchmark
+	public byte[] serializarEntidades() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(entidades);
+	}
+
+	@Benchmark
+	public byte[] serializarDtos() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(dtos);
+	}
+}
@@ -0,0 +1,114 @@
+package com.datoro.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+
+import com.datoro.minhasfinancas.MinhasfinancasApplication;
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
+import com.datoro.minhasfinancas.model.repository.LancamentoRepository;
+import com.datoro.minhasfinancas.model.resultado.PaginaLancamentos;
+
+/**
+ * Consulta de lançamentos de um usuário no H2 do perfil test, carregado com
+ * {@code usuarios} x {@code lancamentosPorUsuario} registros. Compara a busca
+ * atual (projeção por Specification) com a antiga busca por {@link Example}
+ * sobre entidades e com uma página por cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuscaLancamentoBenchmark {
+
+	@Param({ "10" })
+	private int usuarios;
+
+	@Param({ "10000" })
+	private int lancamentosPorUsuario;
+
+	private ConfigurableApplicationContext contexto;
+	private LancamentoService lancamentoService;
+	private LancamentoRepository lancamentoRepository;
+	private Lancamento filtro;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		contexto = new SpringApplicationBuilder(MinhasfinancasApplication.class).profiles("test")
+				.web(WebApplicationType.NONE).run("--logging.level.root=WARN");
+		lancamentoService = contexto.getBean(LancamentoService.class);
+		lancamentoRepository = contexto.getBean(LancamentoRepository.class);
+		UsuarioService usuarioService = contexto.getBean(UsuarioService.class);
+
+		Usuario consultado = null;
+		for (int u = 0; u < usuarios; u++) {
+			Usuario usuario = usuarioService.salvarUsuario(Usuario.builder().nome("Usuario " + u)
+					.email("usuario" + u + "@email.com").senha("senha").build());
+			lancamentoService.salvarLote(criarLancamentos(usuario));
+			consultado = usuario;
+		}
+
+		filtro = new Lancamento();
+		filtro.setUsuario(consultado);
+		filtro.setAno(2020);
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public List<LancamentoProjecao> buscarProjecao() {
+		return lancamentoService.buscar(filtro);
+	}
+
+	/** Implementação anterior de {@code buscar}: entidades completas por Query by Example. */
+	@Benchmark
+	public List<Lancamento> buscarPorExemplo() {
+		Example<Lancamento> example = Example.of(filtro,
+				ExampleMatcher.matching().withIgnoreCase().withStringMatcher(StringMatcher.CONTAINING));
+		return lancamentoRepository.findAll(example);
+	}
+
+	@Benchmark
+	public PaginaLancamentos buscarPagina() {
+		return lancamentoService.buscarPagina(filtro, null, 50);
+	}
+
+	private List<Lancamento> criarLancamentos(Usuario usuario) {
+		List<Lancamento> lancamentos = new ArrayList<>(lancamentosPorUsuario);
+		for (int i = 0; i < lancamentosPorUsuario; i++) {
+			lancamentos.add(Lancamento.builder().descricao("Lançamento " + i).mes(i % 12 + 1).ano(2018 + i % 3)
+					.valor(BigDecimal.valueOf(1000 + i, 2)).usuario(usuario)
+					.tipo(i % 3 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA).build());
+		}
+		return lancamentos;
+	}
+}
@@ -0,0 +1,62 @@
+package com.datoro.minhasfinancas.service;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datoro.minhasfinancas.service.impl.IndiceDescricoes;
+import com.datoro.minhasfinancas.service.impl.TermosPesquisa;
+
+/**
+ * Pesquisa no índice em memória de um único usuário com {@code lancamentos}
+ * descrições, de um termo seletivo a um que atinge um décimo dos lançamentos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class PesquisaDescricaoBenchmark {
+
+	private static final String[] ESTABELECIMENTOS = { "Mercado", "Padaria", "Farmácia", "Posto", "Restaurante",
+			"Aluguel", "Salário", "Conta de luz", "Internet", "Academia" };
+	private static final String[] COMPLEMENTOS = { "centro", "bairro", "São Paulo", "online", "mensal" };
+
+	@Param({ "1000000" })
+	private int lancamentos;
+
+	@Param({ "farm a3f", "sao paulo merc", "padaria" })
+	private String texto;
+
+	private IndiceDescricoes indice;
+	private List<String> termos;
+
+	@Setup
+	public void preparar() {
+		indice = new IndiceDescricoes();
+		ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+		for (int i = 0; i < lancamentos; i++) {
+			indice.incluir((long) i, ESTABELECIMENTOS[i % ESTABELECIMENTOS.length] + " "
+					+ Integer.toHexString(aleatorio.nextInt(0x1000000)) + " " + COMPLEMENTOS[i % COMPLEMENTOS.length]);
+		}
+		termos = TermosPesquisa.de(texto);
+	}
+
+	@Benchmark
+	public List<Long> pesquisar() {
+		return indice.pesquisar(termos, 20);
+	}
+}
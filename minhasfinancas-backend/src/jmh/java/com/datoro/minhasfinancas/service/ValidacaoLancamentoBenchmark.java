@@ -0,0 +1,50 @@
+package com.datoro.minhasfinancas.service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.service.impl.LancamentoServiceImpl;
+
+/**
+ * Custo de {@link LancamentoServiceImpl#validar(Lancamento)}, executado em toda
+ * inclusão, alteração e em cada linha de um lote.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoLancamentoBenchmark {
+
+	private LancamentoServiceImpl service;
+	private Lancamento lancamento;
+
+	@Setup
+	public void preparar() {
+		// validar não usa o repositório nem o publicador de eventos.
+		service = new LancamentoServiceImpl(null, null, null, null, 50);
+		lancamento = Lancamento.builder().descricao("Conta de luz").mes(8).ano(2020).valor(BigDecimal.valueOf(180.35))
+				.usuario(Usuario.builder().id(1L).build()).tipo(TipoLancamento.DESPESA).build();
+	}
+
+	@Benchmark
+	public Lancamento validar() {
+		service.validar(lancamento);
+		return lancamento;
+	}
+}
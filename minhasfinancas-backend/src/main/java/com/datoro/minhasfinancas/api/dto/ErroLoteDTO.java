@@ -0,0 +1,14 @@
+package com.datoro.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroLoteDTO {
+
+	private int indice;
+	private String mensagem;
+}
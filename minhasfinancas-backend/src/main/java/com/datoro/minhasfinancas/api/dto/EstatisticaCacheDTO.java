@@ -0,0 +1,18 @@
+package com.datoro.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticaCacheDTO {
+
+	private String regiao;
+	private long acertos;
+	private long falhas;
+	private long insercoes;
+}
@@ -0,0 +1,42 @@
+package com.datoro.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parâmetros de consulta da busca e da exportação de lançamentos. Tipo e status
+ * aceitam vários valores (tipo=RECEITA&amp;tipo=DESPESA ou tipo=RECEITA,DESPESA); a
+ * ordem lista campos, com '-' na frente dos decrescentes (ordem=-valor,ano).
+ */
+@Data
+@NoArgsConstructor
+public class FiltroLancamentoDTO {
+
+	private String descricao;
+	private Integer mes;
+	private Integer ano;
+	private List<TipoLancamento> tipo;
+	private List<StatusLancamento> status;
+	@DateTimeFormat(pattern = "yyyy-MM")
+	private YearMonth periodoInicial;
+	@DateTimeFormat(pattern = "yyyy-MM")
+	private YearMonth periodoFinal;
+	private BigDecimal valorMinimo;
+	private BigDecimal valorMaximo;
+	@DateTimeFormat(iso = ISO.DATE)
+	private LocalDate cadastroInicial;
+	@DateTimeFormat(iso = ISO.DATE)
+	private LocalDate cadastroFinal;
+	private List<String> ordem;
+}
@@ -0,0 +1,28 @@
+package com.datoro.minhasfinancas.api.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+
+	private List<T> itens;
+	private String proximoCursor;
+	private boolean temMais;
+	/** Quantidade de lançamentos do filtro em todas as páginas, quando pedida. */
+	@JsonInclude(Include.NON_NULL)
+	private Long quantidadeTotal;
+	/** Receitas e despesas do filtro em todas as páginas, quando pedidas. */
+	@JsonInclude(Include.NON_NULL)
+	private TotaisDTO totais;
+}
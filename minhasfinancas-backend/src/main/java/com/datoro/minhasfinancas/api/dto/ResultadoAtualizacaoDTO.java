@@ -0,0 +1,13 @@
+package com.datoro.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoAtualizacaoDTO {
+
+	private int atualizados;
+}
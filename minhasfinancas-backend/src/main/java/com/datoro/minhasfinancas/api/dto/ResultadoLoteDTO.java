@@ -0,0 +1,16 @@
+package com.datoro.minhasfinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteDTO {
+
+	private int inseridos;
+	private List<ErroLoteDTO> erros;
+}
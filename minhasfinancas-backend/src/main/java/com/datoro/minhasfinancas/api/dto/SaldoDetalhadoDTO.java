@@ -0,0 +1,17 @@
+package com.datoro.minhasfinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoDetalhadoDTO {
+
+	private TotaisDTO efetivado;
+	private TotaisDTO pendente;
+	private TotaisDTO cancelado;
+}
@@ -0,0 +1,22 @@
+package com.datoro.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoDiarioDTO {
+
+	private Long usuario;
+	private LocalDate data;
+	private BigDecimal saldo;
+	/** Dia do registro de onde o saldo saiu. */
+	private LocalDate registro;
+}
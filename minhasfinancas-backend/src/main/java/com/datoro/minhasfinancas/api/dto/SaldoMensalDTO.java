@@ -0,0 +1,27 @@
+package com.datoro.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ponto da série de saldo, serializado como [ano, mes, saldo].
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({ "ano", "mes", "saldo" })
+public class SaldoMensalDTO {
+
+	private Integer ano;
+	private Integer mes;
+	private BigDecimal saldo;
+}
@@ -0,0 +1,25 @@
+package com.datoro.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+
+import com.datoro.minhasfinancas.model.resultado.TotaisLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TotaisDTO {
+
+	private BigDecimal receitas;
+	private BigDecimal despesas;
+	private BigDecimal saldo;
+
+	public static TotaisDTO de(TotaisLancamento totais) {
+		return new TotaisDTO(totais.getReceitas(), totais.getDespesas(), totais.getSaldo());
+	}
+}
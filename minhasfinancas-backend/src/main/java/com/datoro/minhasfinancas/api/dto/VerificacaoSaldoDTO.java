@@ -0,0 +1,20 @@
+package com.datoro.minhasfinancas.api.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificacaoSaldoDTO {
+
+	private Long usuario;
+	private BigDecimal saldoRegistrado;
+	private BigDecimal saldoCalculado;
+	private BigDecimal divergencia;
+}
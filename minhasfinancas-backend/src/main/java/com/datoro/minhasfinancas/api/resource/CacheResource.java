@@ -0,0 +1,35 @@
+package com.datoro.minhasfinancas.api.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.datoro.minhasfinancas.api.dto.EstatisticaCacheDTO;
+import com.datoro.minhasfinancas.service.CacheService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheResource {
+
+	private final CacheService cacheService;
+
+	@GetMapping("estatisticas")
+	public ResponseEntity<List<EstatisticaCacheDTO>> obterEstatisticas() {
+		List<EstatisticaCacheDTO> estatisticas = new ArrayList<>();
+		for (Map.Entry<String, CacheRegionStatistics> regiao : cacheService.obterEstatisticas().entrySet()) {
+			CacheRegionStatistics estatistica = regiao.getValue();
+			estatisticas.add(new EstatisticaCacheDTO(regiao.getKey(), estatistica.getHitCount(),
+					estatistica.getMissCount(), estatistica.getPutCount()));
+		}
+		return ResponseEntity.ok(estatisticas);
+	}
+}
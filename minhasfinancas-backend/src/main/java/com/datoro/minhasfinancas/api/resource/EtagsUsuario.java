@@ -0,0 +1,77 @@
+package com.datoro.minhasfinancas.api.resource;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.datoro.minhasfinancas.service.VersaoUsuarioService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ETags no formato {@code W/"<usuario>.<versao>"}, a partir da versão dos dados
+ * do usuário, que muda a cada escrita de lançamento dele. Um GET condicional de
+ * um único lançamento lê só o usuário dono dele antes de comparar a ETag, para que
+ * a ETag de um usuário não valide o lançamento de outro nem um id inexistente.
+ *
+ * <p>As ETags são fracas porque a mesma versão é servida em JSON, Smile ou CBOR,
+ * comprimida ou não: as representações são equivalentes, mas não iguais byte a
+ * byte. O Tomcat também não comprime respostas com ETag forte. As respostas
+ * informam {@code Vary: Accept} para que o cache não troque um formato pelo outro.
+ *
+ * <p>A versão tem de ser lida antes dos dados: se uma escrita acontecer entre as
+ * duas leituras, a resposta sai com uma versão anterior aos dados e a próxima
+ * requisição condicional apenas deixa de aproveitar o 304.
+ */
+@Component
+@RequiredArgsConstructor
+public class EtagsUsuario {
+
+	// Sem no-store, para o navegador guardar a resposta, mas sempre revalidada.
+	static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
+	private final VersaoUsuarioService versaoService;
+
+	public long versao(Long idUsuario) {
+		return versaoService.obterVersao(idUsuario);
+	}
+
+	public String atual(Long idUsuario) {
+		return de(idUsuario, versao(idUsuario));
+	}
+
+	public static String de(Long idUsuario, long versao) {
+		return "W/\"" + idUsuario + "." + versao + "\"";
+	}
+
+	/**
+	 * If-None-Match usa a comparação fraca: {@code W/"x"} corresponde a {@code "x"}.
+	 */
+	public static boolean corresponde(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String candidata : ifNoneMatch.split(",")) {
+			candidata = candidata.trim();
+			if (candidata.equals("*") || semPrefixoFraco(candidata).equals(semPrefixoFraco(etag))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public static <T> ResponseEntity<T> naoModificado(String etag) {
+		return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDAR)
+				.varyBy(HttpHeaders.ACCEPT).build();
+	}
+
+	public static ResponseEntity.BodyBuilder ok(String etag) {
+		return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDAR).varyBy(HttpHeaders.ACCEPT);
+	}
+
+	private static String semPrefixoFraco(String etag) {
+		return etag.startsWith("W/") ? etag.substring(2) : etag;
+	}
+}
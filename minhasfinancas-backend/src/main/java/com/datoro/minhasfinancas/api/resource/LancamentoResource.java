@@ -1,10 +1,22 @@
 package com.datoro.minhasfinancas.api.resource;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,19 +24,33 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.datoro.minhasfinancas.api.dto.AtualizaStatusDTO;
+import com.datoro.minhasfinancas.api.dto.AtualizaStatusLoteDTO;
+import com.datoro.minhasfinancas.api.dto.ErroLoteDTO;
+import com.datoro.minhasfinancas.api.dto.FiltroLancamentoDTO;
 import com.datoro.minhasfinancas.api.dto.LancamentoDTO;
+import com.datoro.minhasfinancas.api.dto.PaginaDTO;
+import com.datoro.minhasfinancas.api.dto.ResultadoAtualizacaoDTO;
+import com.datoro.minhasfinancas.api.dto.ResultadoLoteDTO;
+import com.datoro.minhasfinancas.api.dto.TotaisDTO;
 import com.datoro.minhasfinancas.exception.RegraNegocioException;
 import com.datoro.minhasfinancas.model.entity.Lancamento;
 import com.datoro.minhasfinancas.model.entity.Usuario;
 import com.datoro.minhasfinancas.model.enums.StatusLancamento;
 import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.repository.FiltroLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
+import com.datoro.minhasfinancas.model.resultado.LancamentoVersionado;
+import com.datoro.minhasfinancas.model.resultado.PaginaLancamentos;
 import com.datoro.minhasfinancas.service.LancamentoService;
-import com.datoro.minhasfinancas.service.UsuarioService;
+import com.datoro.minhasfinancas.service.PesquisaLancamentoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,41 +60,153 @@ import lombok.RequiredArgsConstructor;
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class LancamentoResource {
 
+	static final int TAMANHO_PADRAO_PAGINA = 50;
+	
+	static final int LIMITE_PADRAO_PESQUISA = 20;
+	
+	static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+	
+	static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+	
+	private static final String CABECALHO_CSV = "id;descricao;mes;ano;valor;usuario;tipo;status\n";
+
 	private final LancamentoService lancamentoService;
-	private final UsuarioService usuarioService;
+	private final UsuariosDaRequisicao usuarios;
+	private final ObjectMapper objectMapper;
+	private final EtagsUsuario etags;
+	private final PesquisaLancamentoService pesquisaService;
 
 	@GetMapping
-	public ResponseEntity<Object> buscar(@RequestParam(value = "descricao", required = false) String descricao,
-			@RequestParam(value = "mes", required = false) Integer mes,
-			@RequestParam(value = "ano", required = false) Integer ano,
-			@RequestParam(value = "tipo", required = false) TipoLancamento tipo,
-			@RequestParam(value = "status", required = false) StatusLancamento status,
-			@RequestParam(value = "usuario") Long idUsuario) {
-
-		Lancamento lancamentoFiltro = new Lancamento();
-		lancamentoFiltro.setDescricao(descricao);
-		lancamentoFiltro.setMes(mes);
-		lancamentoFiltro.setAno(ano);
-		lancamentoFiltro.setTipo(tipo);
-		lancamentoFiltro.setStatus(status);
+	public ResponseEntity<Object> buscar(FiltroLancamentoDTO parametros,
+			@RequestParam(value = "usuario") Long idUsuario,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "tamanho", required = false) Integer tamanho,
+			@RequestParam(value = "totais", defaultValue = "false") boolean totais,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-		Optional<Usuario> usuario = usuarioService.obterPorId(idUsuario);
-		if (!usuario.isPresent()) {
+		if (!usuarios.obterReferencia(idUsuario).isPresent()) {
 			return ResponseEntity.badRequest()
 					.body("Não foi possível realizar a consulta. Usuário não cadastrado para o Id informado.");
-		} else {
-			lancamentoFiltro.setUsuario(usuario.get());
 		}
 
-		List<Lancamento> lancamentos = lancamentoService.buscar(lancamentoFiltro);
-		return ResponseEntity.ok(lancamentos);
+		long versao = etags.versao(idUsuario);
+		String etag = EtagsUsuario.de(idUsuario, versao);
+		if (EtagsUsuario.corresponde(ifNoneMatch, etag)) {
+			return EtagsUsuario.naoModificado(etag);
+		}
+
+		try {
+			FiltroLancamento filtro = criarFiltro(parametros, idUsuario);
+			// Com totais, a lista completa vem como uma página única, com quantidade e somas por tipo.
+			if (cursor == null && tamanho == null) {
+				if (totais) {
+					return EtagsUsuario.ok(etag).body(converter(lancamentoService.buscarComTotais(filtro, versao)));
+				}
+				List<LancamentoProjecao> lancamentos = lancamentoService.buscar(filtro, versao);
+				return EtagsUsuario.ok(etag).body(lancamentos);
+			}
+
+			int tamanhoPagina = tamanho != null ? tamanho : TAMANHO_PADRAO_PAGINA;
+			return EtagsUsuario.ok(etag)
+					.body(converter(lancamentoService.buscarPagina(filtro, cursor, tamanhoPagina, totais)));
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@GetMapping("pesquisa")
+	public ResponseEntity<Object> pesquisar(@RequestParam("usuario") Long idUsuario,
+			@RequestParam("texto") String texto,
+			@RequestParam(value = "limite", required = false) Integer limite,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+		if (!usuarios.obterReferencia(idUsuario).isPresent()) {
+			return ResponseEntity.badRequest()
+					.body("Não foi possível realizar a pesquisa. Usuário não cadastrado para o Id informado.");
+		}
+		if (limite != null && limite < 1) {
+			return ResponseEntity.badRequest().body("Informe um limite válido!");
+		}
+
+		String etag = etags.atual(idUsuario);
+		if (EtagsUsuario.corresponde(ifNoneMatch, etag)) {
+			return EtagsUsuario.naoModificado(etag);
+		}
+		return EtagsUsuario.ok(etag)
+				.body(pesquisaService.pesquisar(idUsuario, texto, limite != null ? limite : LIMITE_PADRAO_PESQUISA));
+	}
+	
+	@GetMapping("export")
+	public ResponseEntity<StreamingResponseBody> exportar(FiltroLancamentoDTO parametros,
+			@RequestParam(value = "usuario") Long idUsuario,
+			@RequestParam(value = "formato", defaultValue = "csv") String formato) {
+
+		boolean csv = "csv".equalsIgnoreCase(formato);
+		if (!csv && !"ndjson".equalsIgnoreCase(formato)) {
+			return erroExportacao("Formato de exportação inválido, use csv ou ndjson.");
+		}
+
+		if (!usuarios.obterReferencia(idUsuario).isPresent()) {
+			return erroExportacao("Não foi possível realizar a exportação. Usuário não cadastrado para o Id informado.");
+		}
+
+		FiltroLancamento filtro;
+		try {
+			filtro = criarFiltro(parametros, idUsuario);
+			filtro.validar();
+		} catch (RegraNegocioException e) {
+			return erroExportacao(e.getMessage());
+		}
+
+		// Cada linha é escrita assim que lida do banco; nada é acumulado em memória.
+		StreamingResponseBody corpo = saida -> {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+			if (csv) {
+				writer.write(CABECALHO_CSV);
+			}
+			lancamentoService.exportar(filtro, lancamento -> {
+				try {
+					writer.write(csv ? linhaCsv(lancamento) : linhaNdjson(lancamento));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			writer.flush();
+		};
+
+		return ResponseEntity.ok()
+				.contentType(csv ? TEXT_CSV : APPLICATION_NDJSON)
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=lancamentos." + formato.toLowerCase())
+				.body(corpo);
 	}
 	
 	@GetMapping("{id}")
-	public ResponseEntity<Serializable> obterLancamento(@PathVariable("id") Long id) {
-		return lancamentoService.obterPorId(id)
-				      .map(lancamento -> new ResponseEntity(converter(lancamento), HttpStatus.OK))
-				      .orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+	public ResponseEntity<Object> obterLancamento(@PathVariable("id") Long id,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		// A ETag só vale para este lançamento se for a atual do usuário dono dele; um id inexistente
+		// ou de outro usuário segue para a leitura completa.
+		if (ifNoneMatch != null) {
+			Optional<String> naoModificada = lancamentoService.obterVersaoDoDono(id)
+					.filter(dono -> dono.getIdUsuario() != null)
+					.map(dono -> EtagsUsuario.de(dono.getIdUsuario(), dono.getVersao()))
+					.filter(etag -> EtagsUsuario.corresponde(ifNoneMatch, etag));
+			if (naoModificada.isPresent()) {
+				return EtagsUsuario.naoModificado(naoModificada.get());
+			}
+		}
+		
+		return lancamentoService.obterComVersao(id)
+				      .map(this::comEtag)
+				      .orElseGet(() -> ResponseEntity.notFound().build());
+	}
+	
+	private ResponseEntity<Object> comEtag(LancamentoVersionado versionado) {
+		Lancamento lancamento = versionado.getLancamento();
+		if (lancamento.getUsuario() == null) {
+			return ResponseEntity.ok(converter(lancamento));
+		}
+		return EtagsUsuario.ok(EtagsUsuario.de(lancamento.getUsuario().getId(), versionado.getVersao()))
+				.body(converter(lancamento));
 	}
 
 	@PostMapping
@@ -77,46 +215,105 @@ public class LancamentoResource {
 		try {
 			Lancamento entidade = converter(dto);
 			lancamentoService.salvar(entidade);
-			return new ResponseEntity<Serializable>(entidade, HttpStatus.CREATED);
+			return new ResponseEntity(converter(entidade), HttpStatus.CREATED);
 		} catch (RegraNegocioException e) {
 			return ResponseEntity.badRequest().body(e.getMessage());
 		}
 	}
 
-	@PutMapping("{id}")
-	public ResponseEntity<? extends Serializable> atualizar(@PathVariable("id") Long id,
-			@RequestBody LancamentoDTO dto) {
-		return lancamentoService.obterPorId(id).map(entity -> {
+	@PostMapping("lote")
+	public ResponseEntity<ResultadoLoteDTO> salvarLote(@RequestBody List<LancamentoDTO> dtos) {
+
+		List<ErroLoteDTO> erros = new ArrayList<>();
+		List<Lancamento> lancamentos = new ArrayList<>();
+		List<Integer> indices = new ArrayList<>();
+
+		for (int i = 0; i < dtos.size(); i++) {
+			LancamentoDTO dto = dtos.get(i);
 			try {
-				Lancamento lancamento = converter(dto);
-				lancamento.setId(entity.getId());
-				lancamentoService.atualizar(lancamento);
-				return ResponseEntity.ok(lancamento);
+				Usuario usuario = null;
+				if (dto.getUsuario() != null) {
+					usuario = usuarios.obterReferencia(dto.getUsuario())
+							.orElseThrow(() -> new RegraNegocioException("Usuario não encontrado para o Id informado."));
+				}
+				lancamentos.add(converter(dto, usuario));
+				indices.add(i);
 			} catch (RegraNegocioException e) {
-				return ResponseEntity.badRequest().body(e.getMessage());
+				erros.add(new ErroLoteDTO(i, e.getMessage()));
+			} catch (IllegalArgumentException e) {
+				erros.add(new ErroLoteDTO(i, "Tipo ou status de lançamento inválido."));
 			}
-		}).orElseGet(() -> new ResponseEntity<String>("Lancamento não encontrado na base de dados.",
-				HttpStatus.BAD_REQUEST));
+		}
+
+		for (Map.Entry<Integer, String> erro : lancamentoService.validarLote(lancamentos).entrySet()) {
+			erros.add(new ErroLoteDTO(indices.get(erro.getKey()), erro.getValue()));
+		}
+
+		if (!erros.isEmpty()) {
+			erros.sort(Comparator.comparingInt(ErroLoteDTO::getIndice));
+			return ResponseEntity.badRequest().body(new ResultadoLoteDTO(0, erros));
+		}
+
+		int inseridos = lancamentoService.salvarLote(lancamentos);
+		return new ResponseEntity<ResultadoLoteDTO>(new ResultadoLoteDTO(inseridos, erros), HttpStatus.CREATED);
+	}
+
+	@PutMapping("{id}")
+	public ResponseEntity<? extends Serializable> atualizar(@PathVariable("id") Long id,
+			@RequestBody LancamentoDTO dto) {
+		try {
+			// O serviço já carrega o lançamento e só confere o usuário quando ele muda.
+			Usuario usuario = dto.getUsuario() != null ? Usuario.builder().id(dto.getUsuario()).build() : null;
+			Lancamento lancamento = converter(dto, usuario);
+			lancamento.setId(id);
+			lancamentoService.atualizar(lancamento);
+			return new ResponseEntity(converter(lancamento), HttpStatus.OK);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 
 	@PutMapping("{id}/atualiza-status")
 	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto) {
-		return lancamentoService.obterPorId(id).map(entity -> {
-			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
+		StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
+		
+		if(statusSelecionado == null) {
+			return ResponseEntity.badRequest().body("Não foi possível atualizar o status do lancamento, envie um status válido.");
+		}
+		
+		try {
+			Lancamento atualizado = lancamentoService.atualizarStatus(id, statusSelecionado);
+			return ResponseEntity.ok(converter(atualizado));
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@PutMapping("atualiza-status")
+	public ResponseEntity atualizarStatusEmLote(@RequestBody AtualizaStatusLoteDTO dto) {
+		if (dto.getStatus() == null) {
+			return ResponseEntity.badRequest().body("Não foi possível atualizar o status dos lancamentos, envie um status válido.");
+		}
+		
+		try {
+			StatusLancamento novoStatus = StatusLancamento.valueOf(dto.getStatus());
 			
-			if(statusSelecionado == null) {
-				return ResponseEntity.badRequest().body("Não foi possível atualizar o status do lancamento, envie um status válido.");
+			int atualizados;
+			if (dto.getIds() != null && !dto.getIds().isEmpty()) {
+				atualizados = lancamentoService.atualizarStatusPorIds(dto.getUsuario(), dto.getIds(), novoStatus);
+			} else {
+				Lancamento lancamentoFiltro = criarFiltro(null, dto.getMes(), dto.getAno(), null,
+						dto.getStatusAtual() != null ? StatusLancamento.valueOf(dto.getStatusAtual()) : null);
+				lancamentoFiltro.setUsuario(dto.getUsuario() != null ? Usuario.builder().id(dto.getUsuario()).build() : null);
+				atualizados = lancamentoService.atualizarStatusPorFiltro(lancamentoFiltro, novoStatus);
 			}
 			
-			try {
-				entity.setStatus(statusSelecionado);
-				lancamentoService.atualizar(entity);
-				return ResponseEntity.ok(entity);
-			} catch (RegraNegocioException e) {
-				return ResponseEntity.badRequest().body(e.getMessage());
-			}
-		}).orElseGet( () ->
-			new ResponseEntity("Lancamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
+			return ResponseEntity.ok(new ResultadoAtualizacaoDTO(atualizados));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body("Não foi possível atualizar o status dos lancamentos, envie um status válido.");
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
 	}
 
 	@DeleteMapping("{id}")
@@ -127,30 +324,98 @@ public class LancamentoResource {
 		}).orElseGet(() -> new ResponseEntity<Object>("Lancamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
 	}
 	
-	private LancamentoDTO converter(Lancamento lancamento) {
+	private ResponseEntity<StreamingResponseBody> erroExportacao(String mensagem) {
+		return ResponseEntity.badRequest()
+				.contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+				.body(saida -> saida.write(mensagem.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private Lancamento criarFiltro(String descricao, Integer mes, Integer ano, TipoLancamento tipo,
+			StatusLancamento status) {
+		Lancamento lancamentoFiltro = new Lancamento();
+		lancamentoFiltro.setDescricao(descricao);
+		lancamentoFiltro.setMes(mes);
+		lancamentoFiltro.setAno(ano);
+		lancamentoFiltro.setTipo(tipo);
+		lancamentoFiltro.setStatus(status);
+		return lancamentoFiltro;
+	}
+
+	private FiltroLancamento criarFiltro(FiltroLancamentoDTO parametros, Long idUsuario) {
+		return FiltroLancamento.builder()
+				.idUsuario(idUsuario)
+				.descricao(parametros.getDescricao())
+				.ano(parametros.getAno())
+				.mes(parametros.getMes())
+				.periodoInicial(parametros.getPeriodoInicial())
+				.periodoFinal(parametros.getPeriodoFinal())
+				.valorMinimo(parametros.getValorMinimo())
+				.valorMaximo(parametros.getValorMaximo())
+				.cadastroInicial(parametros.getCadastroInicial())
+				.cadastroFinal(parametros.getCadastroFinal())
+				.tipos(parametros.getTipo() != null ? new HashSet<>(parametros.getTipo()) : null)
+				.status(parametros.getStatus() != null ? new HashSet<>(parametros.getStatus()) : null)
+				.ordenacao(FiltroLancamento.ordenacao(parametros.getOrdem()))
+				.build();
+	}
+
+	private String linhaCsv(LancamentoProjecao lancamento) {
+		return lancamento.getId() + ";" + escaparCsv(lancamento.getDescricao()) + ";" + lancamento.getMes() + ";"
+				+ lancamento.getAno() + ";" + lancamento.getValor() + ";" + lancamento.getUsuario() + ";"
+				+ lancamento.getTipo() + ";" + lancamento.getStatus() + "\n";
+	}
+
+	private String escaparCsv(String valor) {
+		if (valor == null) {
+			return "";
+		}
+		if (valor.contains(";") || valor.contains("\"") || valor.contains("\n") || valor.contains("\r")) {
+			return "\"" + valor.replace("\"", "\"\"") + "\"";
+		}
+		return valor;
+	}
+
+	private String linhaNdjson(LancamentoProjecao lancamento) throws IOException {
+		return objectMapper.writeValueAsString(lancamento) + "\n";
+	}
+
+	PaginaDTO<LancamentoProjecao> converter(PaginaLancamentos pagina) {
+		return PaginaDTO.<LancamentoProjecao>builder()
+				.itens(pagina.getItens())
+				.proximoCursor(pagina.getProximoCursor())
+				.temMais(pagina.isTemMais())
+				.quantidadeTotal(pagina.getQuantidadeTotal())
+				.totais(pagina.getTotais() != null ? TotaisDTO.de(pagina.getTotais()) : null)
+				.build();
+	}
+
+	LancamentoDTO converter(Lancamento lancamento) {
 		return LancamentoDTO.builder()
 							.id(lancamento.getId())
 							.descricao(lancamento.getDescricao())
 							.valor(lancamento.getValor())
 							.mes(lancamento.getMes())
 							.ano(lancamento.getAno())
-							.status(lancamento.getStatus().name())
-							.tipo(lancamento.getTipo().name())
-							.usuario(lancamento.getUsuario().getId())
+							.status(lancamento.getStatus() != null ? lancamento.getStatus().name() : null)
+							.tipo(lancamento.getTipo() != null ? lancamento.getTipo().name() : null)
+							.usuario(lancamento.getUsuario() != null ? lancamento.getUsuario().getId() : null)
 							.build();
 	}
 
-	private Lancamento converter(LancamentoDTO dto) {
+	Lancamento converter(LancamentoDTO dto) {
+		Usuario usuario = usuarios.obterReferencia(dto.getUsuario())
+				.orElseThrow(() -> new RegraNegocioException("Usuario não encontrado para o Id informado."));
+
+		return converter(dto, usuario);
+	}
+
+	Lancamento converter(LancamentoDTO dto, Usuario usuario) {
 		Lancamento lancamento = new Lancamento();
 		lancamento.setId(dto.getId());
 		lancamento.setDescricao(dto.getDescricao());
 		lancamento.setAno(dto.getAno());
 		lancamento.setMes(dto.getMes());
 		lancamento.setValor(dto.getValor());
-
-		Usuario usuario = usuarioService.obterPorId(dto.getUsuario())
-				.orElseThrow(() -> new RegraNegocioException("Usuario não encontrado para o Id informado."));
-
 		lancamento.setUsuario(usuario);
 
 		if (dto.getTipo() != null) {
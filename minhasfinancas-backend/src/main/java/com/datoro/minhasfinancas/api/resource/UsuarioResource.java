@@ -2,22 +2,44 @@ package com.datoro.minhasfinancas.api.resource;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.datoro.minhasfinancas.api.dto.ResumoMensalDTO;
+import com.datoro.minhasfinancas.api.dto.SaldoDetalhadoDTO;
+import com.datoro.minhasfinancas.api.dto.SaldoDiarioDTO;
+import com.datoro.minhasfinancas.api.dto.SaldoMensalDTO;
+import com.datoro.minhasfinancas.api.dto.TotaisDTO;
 import com.datoro.minhasfinancas.api.dto.UsuarioDTO;
+import com.datoro.minhasfinancas.api.dto.VerificacaoSaldoDTO;
 import com.datoro.minhasfinancas.exception.ErroAutenticacao;
 import com.datoro.minhasfinancas.exception.RegraNegocioException;
+import com.datoro.minhasfinancas.model.entity.SaldoDiario;
 import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.resultado.TotaisLancamento;
+import com.datoro.minhasfinancas.model.resultado.VerificacaoSaldo;
 import com.datoro.minhasfinancas.service.LancamentoService;
+import com.datoro.minhasfinancas.service.ResumoMensalService;
+import com.datoro.minhasfinancas.service.SaldoDiarioService;
+import com.datoro.minhasfinancas.service.SaldoService;
 import com.datoro.minhasfinancas.service.UsuarioService;
 
 import lombok.RequiredArgsConstructor;
@@ -29,6 +51,10 @@ public class UsuarioResource {
 	
 	private final UsuarioService usuarioService;
 	private final LancamentoService lancamentoService;
+	private final SaldoService saldoService;
+	private final ResumoMensalService resumoMensalService;
+	private final SaldoDiarioService saldoDiarioService;
+	private final EtagsUsuario etags;
 	
 	@PostMapping("/autenticar")
 	public ResponseEntity<Serializable> autenticar(@RequestBody UsuarioDTO dto) {
@@ -54,7 +80,8 @@ public class UsuarioResource {
 	}
 	
 	@GetMapping("{id}/saldo")
-	public ResponseEntity<BigDecimal> obterSaldo(@PathVariable("id") Long id) {
+	public ResponseEntity<BigDecimal> obterSaldo(@PathVariable("id") Long id,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 		
 		Optional<Usuario> usuario = usuarioService.obterPorId(id);
 	
@@ -62,7 +89,113 @@ public class UsuarioResource {
 			return new ResponseEntity<BigDecimal>(HttpStatus.NOT_FOUND);
 		}
 		
-		BigDecimal saldo = lancamentoService.obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(id);
-		return ResponseEntity.ok(saldo);
+		String etag = etags.atual(id);
+		if (EtagsUsuario.corresponde(ifNoneMatch, etag)) {
+			return EtagsUsuario.naoModificado(etag);
+		}
+		
+		BigDecimal saldo = saldoService.obterSaldo(id);
+		return EtagsUsuario.ok(etag).body(saldo);
+	}
+	
+	@GetMapping("{id}/saldo/serie")
+	public ResponseEntity<Object> obterSerieSaldo(@PathVariable("id") Long id,
+			@RequestParam("de") @DateTimeFormat(pattern = "yyyy-MM") YearMonth de,
+			@RequestParam("ate") @DateTimeFormat(pattern = "yyyy-MM") YearMonth ate,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		
+		if(!usuarioService.obterPorId(id).isPresent()) {
+			return new ResponseEntity<Object>(HttpStatus.NOT_FOUND);
+		}
+		
+		String etag = etags.atual(id);
+		if (EtagsUsuario.corresponde(ifNoneMatch, etag)) {
+			return EtagsUsuario.naoModificado(etag);
+		}
+		
+		try {
+			List<SaldoMensalDTO> serie = resumoMensalService.obterSerieSaldo(id, de, ate).stream()
+					.map(saldo -> new SaldoMensalDTO(saldo.getAno(), saldo.getMes(), saldo.getSaldo()))
+					.collect(Collectors.toList());
+			return EtagsUsuario.ok(etag).body(serie);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+	
+	@GetMapping("{id}/saldo/diario")
+	public ResponseEntity<Object> obterSaldoEm(@PathVariable("id") Long id,
+			@RequestParam("data") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		
+		if(!usuarioService.obterPorId(id).isPresent()) {
+			return new ResponseEntity<Object>(HttpStatus.NOT_FOUND);
+		}
+		
+		String etag = etags.atual(id);
+		if (EtagsUsuario.corresponde(ifNoneMatch, etag)) {
+			return EtagsUsuario.naoModificado(etag);
+		}
+		
+		// O histórico começa no primeiro registro do usuário (para os usuários anteriores à V7, o dia
+		// da migração): antes dele o saldo é desconhecido, e não zero.
+		Optional<SaldoDiario> registro = saldoDiarioService.obterSaldoEm(id, data);
+		if (!registro.isPresent()) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND)
+					.body("Não há saldo registrado para o usuário até a data informada.");
+		}
+		return EtagsUsuario.ok(etag)
+				.body(new SaldoDiarioDTO(id, data, registro.get().getSaldo(), registro.get().getData()));
+	}
+	
+	@GetMapping("{id}/saldo/detalhado")
+	public ResponseEntity<SaldoDetalhadoDTO> obterSaldoDetalhado(@PathVariable("id") Long id) {
+		
+		if(!usuarioService.obterPorId(id).isPresent()) {
+			return new ResponseEntity<SaldoDetalhadoDTO>(HttpStatus.NOT_FOUND);
+		}
+		
+		Map<StatusLancamento, TotaisLancamento> totais = lancamentoService.obterSaldoDetalhado(id);
+		return ResponseEntity.ok(new SaldoDetalhadoDTO(
+				TotaisDTO.de(totais.get(StatusLancamento.EFETIVADO)),
+				TotaisDTO.de(totais.get(StatusLancamento.PENDENTE)),
+				TotaisDTO.de(totais.get(StatusLancamento.CANCELADO))));
+	}
+	
+	@PostMapping("{id}/saldo/recalcular")
+	public ResponseEntity<VerificacaoSaldoDTO> recalcularSaldo(@PathVariable("id") Long id) {
+		
+		if(!usuarioService.obterPorId(id).isPresent()) {
+			return new ResponseEntity<VerificacaoSaldoDTO>(HttpStatus.NOT_FOUND);
+		}
+		
+		VerificacaoSaldo verificacao = saldoService.recalcular(id);
+		return ResponseEntity.ok(new VerificacaoSaldoDTO(verificacao.getUsuario(), verificacao.getSaldoRegistrado(),
+				verificacao.getSaldoCalculado(), verificacao.getDivergencia()));
+	}
+	
+	@GetMapping("{id}/resumo")
+	public ResponseEntity<List<ResumoMensalDTO>> obterResumoAnual(@PathVariable("id") Long id,
+			@RequestParam("ano") Integer ano) {
+		
+		if(!usuarioService.obterPorId(id).isPresent()) {
+			return new ResponseEntity<List<ResumoMensalDTO>>(HttpStatus.NOT_FOUND);
+		}
+		
+		List<ResumoMensalDTO> resumo = resumoMensalService.obterResumoAnual(id, ano).stream()
+				.map(mes -> new ResumoMensalDTO(mes.getMes(), TotaisDTO.de(mes.getEfetivado()), TotaisDTO.de(mes.getPendente())))
+				.collect(Collectors.toList());
+		return ResponseEntity.ok(resumo);
+	}
+	
+	@PostMapping("{id}/resumo/recalcular")
+	public ResponseEntity<Void> recalcularResumo(@PathVariable("id") Long id) {
+		
+		if(!usuarioService.obterPorId(id).isPresent()) {
+			return new ResponseEntity<Void>(HttpStatus.NOT_FOUND);
+		}
+		
+		resumoMensalService.recalcular(id);
+		return ResponseEntity.noContent().build();
 	}
 }
@@ -0,0 +1,31 @@
+package com.datoro.minhasfinancas.api.resource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.service.UsuarioService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Referências de usuário já conferidas na requisição atual, para que cada id
+ * custe no máximo uma consulta de existência por requisição.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class UsuariosDaRequisicao {
+
+	private final UsuarioService usuarioService;
+	
+	private final Map<Long, Optional<Usuario>> referencias = new HashMap<>();
+
+	public Optional<Usuario> obterReferencia(Long id) {
+		return referencias.computeIfAbsent(id, usuarioService::obterReferencia);
+	}
+}
@@ -0,0 +1,60 @@
+package com.datoro.minhasfinancas.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Envolve o DataSource em um proxy que alimenta o {@link ContadorConsultas} da
+ * thread a cada instrução executada. Um batch JDBC conta como uma instrução.
+ * DataSources que só delegam a outros, como o {@link RoteamentoDataSource},
+ * ficam de fora e envolvem cada pool com {@link #contar}, para que a instrução
+ * seja contada uma vez.
+ */
+@Configuration
+public class ConsultasSqlConfig {
+
+	@Bean
+	public static BeanPostProcessor contadorConsultasDataSource() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource && !(bean instanceof ProxyDataSource) && !(bean instanceof DelegatingDataSource)) {
+					return contar((DataSource) bean, beanName);
+				}
+				return bean;
+			}
+		};
+	}
+
+	public static DataSource contar(DataSource dataSource, String nome) {
+		return ProxyDataSourceBuilder.create(dataSource)
+				.name(nome)
+				.listener(new ContadorConsultasListener())
+				.build();
+	}
+
+	static class ContadorConsultasListener implements QueryExecutionListener {
+
+		@Override
+		public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+			ContadorConsultas.antesDaConsulta();
+		}
+
+		@Override
+		public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+			ContadorConsultas.aposConsulta(queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery());
+		}
+	}
+}
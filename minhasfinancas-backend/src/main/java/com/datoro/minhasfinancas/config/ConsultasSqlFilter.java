@@ -0,0 +1,130 @@
+package com.datoro.minhasfinancas.config;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Conta as instruções SQL e o tempo de banco de cada requisição, devolve os
+ * números no cabeçalho {@code Server-Timing} e registra as requisições que
+ * passam do orçamento de consultas.
+ *
+ * <p>O cabeçalho é gravado quando a resposta começa a ser escrita, então reflete
+ * o trabalho feito até ali; em exportações em streaming, as consultas do próprio
+ * streaming rodam em outra thread e ficam de fora.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConsultasSqlFilter extends OncePerRequestFilter {
+
+	static final String SERVER_TIMING = "Server-Timing";
+
+	private final int orcamento;
+
+	public ConsultasSqlFilter(@Value("${minhasfinancas.sql.orcamento-por-requisicao:20}") int orcamento) {
+		this.orcamento = orcamento;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		ContadorConsultas contador = ContadorConsultas.iniciar();
+		ServerTimingResponse resposta = new ServerTimingResponse(response, contador);
+		try {
+			chain.doFilter(request, resposta);
+		} finally {
+			ContadorConsultas.Resumo resumo = ContadorConsultas.encerrar();
+			resposta.escreverCabecalho();
+			request.setAttribute(ContadorConsultas.ATRIBUTO, resumo);
+
+			if (resumo.getConsultas() > orcamento) {
+				log.warn("{} {} executou {} consultas em {} ms (orçamento {}); a mais repetida, {} vezes: {}",
+						request.getMethod(), request.getRequestURI(), resumo.getConsultas(),
+						formatar(resumo.getMilissegundos()), orcamento, resumo.getRepeticoes(), resumo.getMaisRepetida());
+			}
+		}
+	}
+
+	static String serverTiming(ContadorConsultas.Resumo resumo) {
+		return "db;dur=" + formatar(resumo.getMilissegundos()) + ";desc=\"" + resumo.getConsultas() + " consultas\"";
+	}
+
+	private static String formatar(double milissegundos) {
+		return String.format(Locale.ROOT, "%.2f", milissegundos);
+	}
+
+	/**
+	 * Acrescenta o cabeçalho imediatamente antes do primeiro byte do corpo, o
+	 * último momento em que ainda é possível alterar cabeçalhos.
+	 */
+	private static class ServerTimingResponse extends HttpServletResponseWrapper {
+
+		private final ContadorConsultas contador;
+		private boolean escrito;
+
+		ServerTimingResponse(HttpServletResponse response, ContadorConsultas contador) {
+			super(response);
+			this.contador = contador;
+		}
+
+		void escreverCabecalho() {
+			if (!escrito && !isCommitted()) {
+				addHeader(SERVER_TIMING, serverTiming(contador.resumir()));
+			}
+			escrito = true;
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			escreverCabecalho();
+			return super.getOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			escreverCabecalho();
+			return super.getWriter();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			escreverCabecalho();
+			super.flushBuffer();
+		}
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			escreverCabecalho();
+			super.sendError(sc, msg);
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			escreverCabecalho();
+			super.sendError(sc);
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			escreverCabecalho();
+			super.sendRedirect(location);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.datoro.minhasfinancas.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Value;
+
+/**
+ * Conta as instruções JDBC e o tempo de banco de uma unidade de trabalho,
+ * normalmente uma requisição HTTP. O contador fica associado à thread que o
+ * iniciou; instruções executadas em outras threads não entram na conta.
+ */
+public final class ContadorConsultas {
+
+	/**
+	 * Atributo da requisição em que o filtro deixa o {@link Resumo} ao terminar.
+	 */
+	public static final String ATRIBUTO = ContadorConsultas.class.getName() + ".RESUMO";
+
+	private static final ThreadLocal<ContadorConsultas> ATUAL = new ThreadLocal<>();
+
+	private final Map<String, Integer> execucoesPorSql = new HashMap<>();
+	private int consultas;
+	private long nanos;
+	private long inicio;
+
+	private ContadorConsultas() {
+	}
+
+	public static ContadorConsultas iniciar() {
+		ContadorConsultas contador = new ContadorConsultas();
+		ATUAL.set(contador);
+		return contador;
+	}
+
+	public static Resumo encerrar() {
+		ContadorConsultas contador = ATUAL.get();
+		ATUAL.remove();
+		return contador != null ? contador.resumir() : Resumo.VAZIO;
+	}
+
+	static void antesDaConsulta() {
+		ContadorConsultas contador = ATUAL.get();
+		if (contador != null) {
+			contador.inicio = System.nanoTime();
+		}
+	}
+
+	static void aposConsulta(String sql) {
+		ContadorConsultas contador = ATUAL.get();
+		if (contador != null) {
+			contador.nanos += System.nanoTime() - contador.inicio;
+			contador.consultas++;
+			contador.execucoesPorSql.merge(sql, 1, Integer::sum);
+		}
+	}
+
+	public Resumo resumir() {
+		String maisRepetida = null;
+		int repeticoes = 0;
+		for (Map.Entry<String, Integer> execucoes : execucoesPorSql.entrySet()) {
+			if (execucoes.getValue() > repeticoes) {
+				maisRepetida = execucoes.getKey();
+				repeticoes = execucoes.getValue();
+			}
+		}
+		return new Resumo(consultas, nanos / 1e6, maisRepetida, repeticoes);
+	}
+
+	@Value
+	public static class Resumo {
+
+		static final Resumo VAZIO = new Resumo(0, 0, null, 0);
+
+		int consultas;
+		double milissegundos;
+		/** SQL executado mais vezes; repetições altas costumam indicar N+1. */
+		String maisRepetida;
+		int repeticoes;
+	}
+}
@@ -0,0 +1,38 @@
+package com.datoro.minhasfinancas.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+/**
+ * Formatos binários negociados pelo cabeçalho Accept, com a mesma configuração
+ * do ObjectMapper de JSON. Sem Accept, ou com {@code *}{@code /*}, a resposta
+ * continua em JSON.
+ *
+ * <p>No Smile, além dos nomes de campo, os valores repetidos em todas as linhas
+ * (tipo, status, descrições iguais) são escritos uma vez e depois referenciados.
+ */
+@Configuration
+public class FormatosRespostaConfig {
+
+	public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		SmileFactory factory = new SmileFactory();
+		factory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+		return new MappingJackson2SmileHttpMessageConverter(builder.createXmlMapper(false).factory(factory).build());
+	}
+
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+	}
+}
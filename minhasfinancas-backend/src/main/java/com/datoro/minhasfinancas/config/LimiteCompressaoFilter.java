@@ -0,0 +1,114 @@
+package com.datoro.minhasfinancas.config;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Faz valer {@code server.compression.min-response-size} para as respostas do
+ * Jackson. O conversor dá flush no fim da escrita; o flush envia os cabeçalhos
+ * sem Content-Length e o Tomcat, sem saber o tamanho, comprime qualquer resposta.
+ * Enquanto o corpo não passa do limite, o flush é ignorado: a resposta pequena
+ * fica no buffer do Tomcat, que a encerra com Content-Length e sem compressão.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty("server.compression.enabled")
+public class LimiteCompressaoFilter extends OncePerRequestFilter {
+
+	private final long limite;
+
+	public LimiteCompressaoFilter(@Value("${server.compression.min-response-size:2KB}") DataSize limite) {
+		this.limite = limite.toBytes();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		chain.doFilter(request, new FlushAdiadoResponse(response, limite));
+	}
+
+	private static class FlushAdiadoResponse extends HttpServletResponseWrapper {
+
+		private final long limite;
+		private ServletOutputStream saida;
+		private long escritos;
+
+		FlushAdiadoResponse(HttpServletResponse response, long limite) {
+			super(response);
+			this.limite = limite;
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (saida == null) {
+				saida = new FlushAdiadoOutputStream(super.getOutputStream());
+			}
+			return saida;
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			if (escritos >= limite) {
+				super.flushBuffer();
+			}
+		}
+
+		private class FlushAdiadoOutputStream extends ServletOutputStream {
+
+			private final ServletOutputStream original;
+
+			FlushAdiadoOutputStream(ServletOutputStream original) {
+				this.original = original;
+			}
+
+			@Override
+			public void write(int b) throws IOException {
+				original.write(b);
+				escritos++;
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				original.write(b, off, len);
+				escritos += len;
+			}
+
+			@Override
+			public void flush() throws IOException {
+				if (escritos >= limite) {
+					original.flush();
+				}
+			}
+
+			@Override
+			public void close() throws IOException {
+				original.close();
+			}
+
+			@Override
+			public boolean isReady() {
+				return original.isReady();
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+				original.setWriteListener(writeListener);
+			}
+		}
+	}
+}
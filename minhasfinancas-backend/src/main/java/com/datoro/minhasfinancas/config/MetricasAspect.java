@@ -0,0 +1,82 @@
+package com.datoro.minhasfinancas.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import com.datoro.minhasfinancas.exception.ErroAutenticacao;
+import com.datoro.minhasfinancas.exception.RegraNegocioException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede cada chamada aos serviços de lançamento e usuário e ao repositório de
+ * lançamentos. Cada timer é marcado com classe, operação e resultado, e a
+ * contagem do timer serve de contador de chamadas por resultado. Chamadas de um
+ * método a outro da mesma classe não passam pelo proxy e não são medidas à parte.
+ */
+@Aspect
+@Component
+public class MetricasAspect {
+
+	public static final String METRICA_SERVICO = "minhasfinancas.servico";
+	public static final String METRICA_REPOSITORIO = "minhasfinancas.repositorio";
+
+	static final String SUCESSO = "sucesso";
+	static final String REGRA_NEGOCIO = "regra_negocio";
+	static final String AUTENTICACAO = "autenticacao";
+	static final String ERRO = "erro";
+
+	private final MeterRegistry registry;
+
+	public MetricasAspect(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Around("execution(public * *(..)) && target(com.datoro.minhasfinancas.service.LancamentoService)")
+	public Object medirLancamentoService(ProceedingJoinPoint joinPoint) throws Throwable {
+		return medir(METRICA_SERVICO, "LancamentoService", joinPoint);
+	}
+
+	@Around("execution(public * *(..)) && target(com.datoro.minhasfinancas.service.UsuarioService)")
+	public Object medirUsuarioService(ProceedingJoinPoint joinPoint) throws Throwable {
+		return medir(METRICA_SERVICO, "UsuarioService", joinPoint);
+	}
+
+	@Around("execution(public * *(..)) && target(com.datoro.minhasfinancas.model.repository.LancamentoRepository)")
+	public Object medirLancamentoRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return medir(METRICA_REPOSITORIO, "LancamentoRepository", joinPoint);
+	}
+
+	private Object medir(String metrica, String classe, ProceedingJoinPoint joinPoint) throws Throwable {
+		Timer.Sample amostra = Timer.start(registry);
+		String resultado = SUCESSO;
+		String excecao = "none";
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			resultado = resultado(e);
+			excecao = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			amostra.stop(Timer.builder(metrica)
+					.tag("classe", classe)
+					.tag("operacao", joinPoint.getSignature().getName())
+					.tag("resultado", resultado)
+					.tag("excecao", excecao)
+					.register(registry));
+		}
+	}
+
+	private static String resultado(Throwable e) {
+		if (e instanceof RegraNegocioException) {
+			return REGRA_NEGOCIO;
+		}
+		if (e instanceof ErroAutenticacao) {
+			return AUTENTICACAO;
+		}
+		return ERRO;
+	}
+}
@@ -0,0 +1,86 @@
+package com.datoro.minhasfinancas.config;
+
+import java.io.Closeable;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pool da réplica de leitura e o atraso medido nela. A medição é periódica e
+ * retira a réplica das leituras quando o atraso passa do máximo configurado ou
+ * quando ela não responde; até a primeira medição bem-sucedida as leituras ficam
+ * no primário.
+ */
+@Slf4j
+public class ReplicaLeitura implements Closeable {
+
+	public static final String METRICA_ATRASO = "minhasfinancas.replica.atraso";
+
+	private final HikariDataSource pool;
+	private final JdbcTemplate jdbc;
+	private final String consultaAtraso;
+	private final double atrasoMaximoSegundos;
+
+	private volatile boolean disponivel;
+	private volatile double atrasoSegundos = Double.NaN;
+
+	public ReplicaLeitura(HikariDataSource pool, String consultaAtraso, double atrasoMaximoSegundos, MeterRegistry registry) {
+		this.pool = pool;
+		this.jdbc = new JdbcTemplate(pool);
+		this.consultaAtraso = consultaAtraso;
+		this.atrasoMaximoSegundos = atrasoMaximoSegundos;
+		Gauge.builder(METRICA_ATRASO, this, ReplicaLeitura::getAtrasoSegundos)
+				.description("Atraso da réplica de leitura")
+				.baseUnit("seconds")
+				.register(registry);
+	}
+
+	@Scheduled(fixedDelayString = "${minhasfinancas.datasource.replica.intervalo-verificacao:5000}")
+	public void verificar() {
+		boolean estava = disponivel;
+		try {
+			Double atraso = jdbc.queryForObject(consultaAtraso, Double.class);
+			atrasoSegundos = atraso == null ? 0 : atraso;
+			disponivel = atrasoSegundos <= atrasoMaximoSegundos;
+		} catch (RuntimeException e) {
+			atrasoSegundos = Double.NaN;
+			disponivel = false;
+			if (estava) {
+				log.warn("Réplica de leitura indisponível; leituras voltam para o primário", e);
+			}
+			return;
+		}
+
+		if (disponivel && !estava) {
+			log.info("Réplica de leitura passa a atender leituras (atraso de {} s)", atrasoSegundos);
+		} else if (estava && !disponivel) {
+			log.warn("Réplica de leitura atrasada {} s, máximo {} s; leituras voltam para o primário",
+					atrasoSegundos, atrasoMaximoSegundos);
+		}
+	}
+
+	public DataSource getPool() {
+		return pool;
+	}
+
+	public boolean isDisponivel() {
+		return disponivel;
+	}
+
+	public double getAtrasoSegundos() {
+		return atrasoSegundos;
+	}
+
+	@Override
+	public void close() {
+		pool.close();
+	}
+}
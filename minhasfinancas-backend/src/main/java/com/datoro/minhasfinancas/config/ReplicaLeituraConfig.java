@@ -0,0 +1,62 @@
+package com.datoro.minhasfinancas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Separa leitura e escrita quando há uma réplica configurada em
+ * {@code minhasfinancas.datasource.replica.jdbc-url}. O primário continua vindo de
+ * {@code spring.datasource.*}; a réplica tem pool próprio, configurado pelas
+ * propriedades do Hikari em {@code minhasfinancas.datasource.replica.*}. Sem
+ * réplica configurada o DataSource continua sendo o do Spring Boot.
+ *
+ * <p>Os pools não são beans: o Spring Boot inicializa o banco assim que o primeiro
+ * DataSource do contexto fica pronto, e esse tem de ser o {@link RoteamentoDataSource}.
+ */
+@Configuration
+@ConditionalOnExpression("!'${minhasfinancas.datasource.replica.jdbc-url:}'.isEmpty()")
+public class ReplicaLeituraConfig {
+
+	static final String PREFIXO_REPLICA = "minhasfinancas.datasource.replica";
+
+	// Zero quando a réplica já aplicou tudo o que recebeu; senão, a idade da última transação aplicada.
+	static final String CONSULTA_ATRASO_POSTGRESQL = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()"
+			+ " then 0 else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+	@Bean
+	public ReplicaLeitura replicaLeitura(Environment ambiente, MeterRegistry registry,
+			@Value("${" + PREFIXO_REPLICA + ".consulta-atraso:" + CONSULTA_ATRASO_POSTGRESQL + "}") String consultaAtraso,
+			@Value("${" + PREFIXO_REPLICA + ".atraso-maximo-segundos:5}") double atrasoMaximoSegundos) {
+		HikariDataSource replica = new HikariDataSource();
+		replica.setPoolName("replica");
+		replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+		Binder.get(ambiente).bind(PREFIXO_REPLICA, Bindable.ofInstance(replica));
+		return new ReplicaLeitura(replica, consultaAtraso, atrasoMaximoSegundos, registry);
+	}
+
+	// Mesma construção do pool do Spring Boot, que deixa de ser criado quando existe outro DataSource.
+	@Bean
+	@Primary
+	public RoteamentoDataSource dataSource(DataSourceProperties propriedades, Environment ambiente, MeterRegistry registry,
+			ReplicaLeitura replica) {
+		HikariDataSource primario = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		primario.setPoolName("primario");
+		primario.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+		Binder.get(ambiente).bind("spring.datasource.hikari", Bindable.ofInstance(primario));
+
+		return new RoteamentoDataSource(primario, ConsultasSqlConfig.contar(primario, "primario"),
+				ConsultasSqlConfig.contar(replica.getPool(), "replica"), replica);
+	}
+}
@@ -0,0 +1,63 @@
+package com.datoro.minhasfinancas.config;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Envia as transações somente leitura para a réplica, enquanto ela estiver em
+ * dia, e todo o resto para o primário.
+ *
+ * <p>O JpaTransactionManager pede a conexão antes de marcar a transação como
+ * somente leitura; por isso a escolha fica para a primeira instrução, como no
+ * {@link LazyConnectionDataSourceProxy}. Um método somente leitura chamado dentro
+ * de uma transação de escrita participa dela e continua no primário.
+ */
+public class RoteamentoDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+	static final String PRIMARIO = "primario";
+	static final String REPLICA = "replica";
+
+	private final HikariDataSource poolPrimario;
+
+	/**
+	 * @param poolPrimario pool do primário, fechado junto com este DataSource
+	 * @param primario o pool do primário como deve ser usado, possivelmente envolvido
+	 * @param replica o pool da réplica como deve ser usado, possivelmente envolvido
+	 */
+	public RoteamentoDataSource(HikariDataSource poolPrimario, DataSource primario, DataSource replica,
+			ReplicaLeitura replicaLeitura) {
+		this.poolPrimario = poolPrimario;
+
+		Map<Object, Object> destinos = new HashMap<>();
+		destinos.put(PRIMARIO, primario);
+		destinos.put(REPLICA, replica);
+
+		AbstractRoutingDataSource roteamento = new AbstractRoutingDataSource() {
+			@Override
+			protected Object determineCurrentLookupKey() {
+				if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaLeitura.isDisponivel()) {
+					return REPLICA;
+				}
+				return PRIMARIO;
+			}
+		};
+		roteamento.setTargetDataSources(destinos);
+		roteamento.setDefaultTargetDataSource(primario);
+		roteamento.afterPropertiesSet();
+		setTargetDataSource(roteamento);
+	}
+
+	@Override
+	public void close() {
+		poolPrimario.close();
+	}
+}
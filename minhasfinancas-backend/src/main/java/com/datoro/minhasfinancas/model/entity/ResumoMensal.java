@@ -0,0 +1,86 @@
+package com.datoro.minhasfinancas.model.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+
+import org.springframework.data.domain.Persistable;
+
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totais dos lançamentos de um usuário por (ano, mes, tipo, status), mantidos
+ * a cada alteração de lançamento para que relatórios não varram a tabela.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(ResumoMensalId.class)
+@Table(name = "resumo_mensal", schema = "financas")
+public class ResumoMensal implements Serializable, Persistable<ResumoMensalId> {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Id
+	@Column(name = "ano")
+	private Integer ano;
+
+	@Id
+	@Column(name = "mes")
+	private Integer mes;
+
+	@Id
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+
+	@Id
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+
+	@Column(name = "total")
+	private BigDecimal total;
+
+	@Column(name = "quantidade")
+	private Long quantidade;
+
+	// Linhas criadas pelo builder vão direto para persist, sem o merge que consultaria a chave antes.
+	private transient boolean persistido;
+
+	@Override
+	public ResumoMensalId getId() {
+		return new ResumoMensalId(idUsuario, ano, mes, tipo, status);
+	}
+
+	@Override
+	public boolean isNew() {
+		return !persistido;
+	}
+
+	@PostLoad
+	@PostPersist
+	void marcarPersistido() {
+		persistido = true;
+	}
+}
@@ -0,0 +1,42 @@
+package com.datoro.minhasfinancas.model.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Saldo realizado de um usuário ao fim de um dia em que ele mudou. Gravado
+ * pelas instruções de {@code SaldoDiarioRepository}, nunca pelo save.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(SaldoDiarioId.class)
+@Table(name = "saldo_diario", schema = "financas")
+public class SaldoDiario implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Id
+	@Column(name = "data")
+	private LocalDate data;
+
+	@Column(name = "saldo")
+	private BigDecimal saldo;
+}
@@ -0,0 +1,18 @@
+package com.datoro.minhasfinancas.model.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoDiarioId implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long idUsuario;
+	private LocalDate data;
+}
@@ -0,0 +1,58 @@
+package com.datoro.minhasfinancas.model.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Saldo realizado (lançamentos EFETIVADOS) de um usuário, mantido
+ * incrementalmente a cada alteração de lançamento.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "saldo_usuario", schema = "financas")
+public class SaldoUsuario implements Serializable, Persistable<Long> {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "saldo")
+	private BigDecimal saldo;
+
+	// A chave é atribuída pela aplicação: sem esta marca, o save faria um SELECT antes de cada INSERT.
+	private transient boolean persistido;
+
+	@Override
+	public Long getId() {
+		return idUsuario;
+	}
+
+	@Override
+	public boolean isNew() {
+		return !persistido;
+	}
+
+	@PostLoad
+	@PostPersist
+	void marcarPersistido() {
+		persistido = true;
+	}
+}
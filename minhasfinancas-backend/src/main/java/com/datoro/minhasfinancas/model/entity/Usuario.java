@@ -2,13 +2,18 @@ package com.datoro.minhasfinancas.model.entity;
 
 import java.io.Serializable;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import lombok.AllArgsConstructor;
@@ -22,12 +27,17 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "usuario", schema = "financas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Usuario.REGIAO_CACHE)
 public class Usuario  implements Serializable {
 	private static final long serialVersionUID = 1L;
 
+	public static final String REGIAO_CACHE = "usuario";
+
 		@Id
 		@Column(name = "id")
-		@GeneratedValue(strategy = GenerationType.IDENTITY)
+		@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuario_seq")
+		@SequenceGenerator(name = "usuario_seq", sequenceName = "usuario_seq", schema = "financas", allocationSize = 50)
 		private Long id;
 		
 		@Column(name = "nome")
@@ -0,0 +1,40 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.datoro.minhasfinancas.exception.RegraNegocioException;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Posição do último lançamento de uma página na ordem (ano, mes, id).
+ */
+@Data
+@AllArgsConstructor
+public class CursorLancamento {
+
+	private Integer ano;
+	private Integer mes;
+	private Long id;
+
+	public static CursorLancamento de(LancamentoProjecao lancamento) {
+		return new CursorLancamento(lancamento.getAno(), lancamento.getMes(), lancamento.getId());
+	}
+
+	public String codificar() {
+		String valor = ano + ":" + mes + ":" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static CursorLancamento decodificar(String token) {
+		try {
+			String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] partes = valor.split(":");
+			return new CursorLancamento(Integer.valueOf(partes[0]), Integer.valueOf(partes[1]), Long.valueOf(partes[2]));
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			throw new RegraNegocioException("Cursor de paginação inválido.");
+		}
+	}
+}
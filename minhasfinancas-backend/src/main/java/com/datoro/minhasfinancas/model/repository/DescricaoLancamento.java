@@ -0,0 +1,8 @@
+package com.datoro.minhasfinancas.model.repository;
+
+public interface DescricaoLancamento {
+
+	Long getId();
+
+	String getDescricao();
+}
@@ -0,0 +1,108 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+
+import com.datoro.minhasfinancas.exception.RegraNegocioException;
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Filtro da busca de lançamentos. Campos nulos ou vazios não filtram; as faixas
+ * incluem os dois extremos. Imutável, serve de chave no cache de buscas.
+ */
+@Value
+@Builder(toBuilder = true)
+public class FiltroLancamento {
+
+	private static final Set<String> CAMPOS_ORDENACAO = new HashSet<>(
+			Arrays.asList("ano", "mes", "id", "valor", "descricao", "dataCadastro", "tipo", "status"));
+
+	Long idUsuario;
+	String descricao;
+	Integer ano;
+	Integer mes;
+	YearMonth periodoInicial;
+	YearMonth periodoFinal;
+	BigDecimal valorMinimo;
+	BigDecimal valorMaximo;
+	LocalDate cadastroInicial;
+	LocalDate cadastroFinal;
+	Set<TipoLancamento> tipos;
+	Set<StatusLancamento> status;
+	/** Nula para a ordem (ano, mes, id), a única aceita na paginação por cursor. */
+	Sort ordenacao;
+
+	/**
+	 * Filtro com a semântica da consulta por exemplo: igualdade nos campos
+	 * preenchidos do lançamento e descrição contendo o texto.
+	 */
+	public static FiltroLancamento de(Lancamento lancamento) {
+		return FiltroLancamento.builder()
+				.idUsuario(lancamento.getUsuario() != null ? lancamento.getUsuario().getId() : null)
+				.descricao(lancamento.getDescricao())
+				.ano(lancamento.getAno())
+				.mes(lancamento.getMes())
+				.tipos(lancamento.getTipo() != null ? EnumSet.of(lancamento.getTipo()) : null)
+				.status(lancamento.getStatus() != null ? EnumSet.of(lancamento.getStatus()) : null)
+				.build();
+	}
+
+	/**
+	 * Ordenação pelos campos informados, decrescente quando o nome começa com
+	 * '-'. O id entra por último, se ausente, para a ordem ser estável.
+	 */
+	public static Sort ordenacao(List<String> campos) {
+		if (campos == null || campos.isEmpty()) {
+			return null;
+		}
+
+		List<Sort.Order> ordens = new ArrayList<>();
+		boolean comId = false;
+		for (String campo : campos) {
+			boolean decrescente = campo.startsWith("-");
+			String nome = decrescente ? campo.substring(1) : campo;
+			if (!CAMPOS_ORDENACAO.contains(nome)) {
+				throw new RegraNegocioException("Campo de ordenação inválido: " + campo + ".");
+			}
+			ordens.add(decrescente ? Sort.Order.desc(nome) : Sort.Order.asc(nome));
+			comId |= nome.equals("id");
+		}
+		if (!comId) {
+			ordens.add(Sort.Order.asc("id"));
+		}
+		return Sort.by(ordens);
+	}
+
+	/**
+	 * Rejeita faixas com o início depois do fim.
+	 */
+	public void validar() {
+		if (invertida(periodoInicial, periodoFinal)) {
+			throw new RegraNegocioException("O período inicial deve ser anterior ao final!");
+		}
+		if (invertida(valorMinimo, valorMaximo)) {
+			throw new RegraNegocioException("O valor mínimo deve ser menor que o máximo!");
+		}
+		if (invertida(cadastroInicial, cadastroFinal)) {
+			throw new RegraNegocioException("A data de cadastro inicial deve ser anterior à final!");
+		}
+	}
+
+	private static <T extends Comparable<? super T>> boolean invertida(T inicio, T fim) {
+		return inicio != null && fim != null && inicio.compareTo(fim) > 0;
+	}
+}
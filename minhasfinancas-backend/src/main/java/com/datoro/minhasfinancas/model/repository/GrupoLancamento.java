@@ -0,0 +1,25 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Soma e quantidade de lançamentos de um usuário em (ano, mes, tipo, status).
+ */
+@Data
+@AllArgsConstructor
+public class GrupoLancamento {
+
+	private Long idUsuario;
+	private Integer ano;
+	private Integer mes;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+	private BigDecimal total;
+	private Long quantidade;
+}
@@ -0,0 +1,28 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Colunas de um lançamento usadas na consulta e na exportação, lidas sem
+ * carregar a entidade nem o usuário. Serializa no mesmo formato de
+ * {@code LancamentoDTO}.
+ */
+@Data
+@AllArgsConstructor
+public class LancamentoProjecao {
+
+	private Long id;
+	private String descricao;
+	private Integer mes;
+	private Integer ano;
+	private BigDecimal valor;
+	private Long usuario;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+}
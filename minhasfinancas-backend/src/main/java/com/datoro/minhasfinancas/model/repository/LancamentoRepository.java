@@ -1,22 +1,65 @@
 package com.datoro.minhasfinancas.model.repository;
 
-import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.datoro.minhasfinancas.model.entity.Lancamento;
-import com.datoro.minhasfinancas.model.enums.StatusLancamento;
-import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.resultado.LancamentoVersionado;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long>{
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, JpaSpecificationExecutor<Lancamento>,
+		LancamentoRepositoryCustom {
+	
+	@Query(value = "select l.tipo as tipo, l.status as status, sum(l.valor) as total from Lancamento l"
+			     + " where l.usuario.id = :idUsuario group by l.tipo, l.status")
+	List<TotalLancamento> obterTotaisPorTipoEStatus(@Param("idUsuario") Long idUsuario);
+	
+	/**
+	 * Lê o lançamento com SELECT ... FOR UPDATE: alterações concorrentes do mesmo
+	 * lançamento esperam o commit e partem do estado já gravado.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select l from Lancamento l where l.id = :id")
+	Optional<Lancamento> obterParaAlteracao(@Param("id") Long id);
+	
+	/**
+	 * Só o usuário do lançamento e a versão dos dados dele, sem carregar o
+	 * lançamento, para responder o GET condicional.
+	 */
+	@Query("select l.usuario.id as idUsuario, coalesce(v.versao, 0L) as versao"
+		 + " from Lancamento l left join VersaoUsuario v on v.idUsuario = l.usuario.id where l.id = :id")
+	Optional<VersaoDoDono> obterVersaoDoDono(@Param("id") Long id);
+	
+	/**
+	 * Lê o lançamento junto com a versão dos dados do usuário. Na mesma instrução,
+	 * a versão nunca é mais nova que o lançamento lido.
+	 */
+	@Query("select new com.datoro.minhasfinancas.model.resultado.LancamentoVersionado(l, coalesce(v.versao, 0L))"
+		 + " from Lancamento l left join VersaoUsuario v on v.idUsuario = l.usuario.id where l.id = :id")
+	Optional<LancamentoVersionado> obterComVersao(@Param("id") Long id);
 	
-	@Query(value = "select sum(l.valor) from Lancamento l join l.usuario u" 
-			     + " where u.id = :idUsuario and l.tipo = :tipo and l.status = :status group by u")
+	/**
+	 * Percorre id e descrição de todos os lançamentos do usuário, para montar o
+	 * índice de pesquisa em memória. Deve rodar em transação.
+	 */
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("select l.id as id, l.descricao as descricao from Lancamento l where l.usuario.id = :idUsuario")
+	Stream<DescricaoLancamento> percorrerDescricoes(@Param("idUsuario") Long idUsuario);
 	
-	BigDecimal obterSaldoPorTipoLancamentoEUsuarioEStatus (
-	           @Param("idUsuario") Long idUsuario, 
-	           @Param("tipo") TipoLancamento tipo, 
-	           @Param("status") StatusLancamento status);
+	/**
+	 * Cria, se ainda não existir, a partição do ano no PostgreSQL e devolve o nome
+	 * dela. Só existe nos bancos migrados por db/migration/postgresql.
+	 */
+	@Query(value = "select financas.criar_particao_lancamento(:ano)", nativeQuery = true)
+	String criarParticao(@Param("ano") int ano);
 }
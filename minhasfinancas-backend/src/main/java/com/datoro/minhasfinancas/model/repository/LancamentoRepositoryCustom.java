@@ -0,0 +1,65 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+
+public interface LancamentoRepositoryCustom {
+
+	/**
+	 * Busca as projeções de todos os lançamentos da especificação.
+	 */
+	List<LancamentoProjecao> buscar(Specification<Lancamento> especificacao, Sort ordenacao);
+
+	/**
+	 * Busca no máximo {@code limite} projeções, sem contagem e sem OFFSET.
+	 */
+	List<LancamentoProjecao> buscar(Specification<Lancamento> especificacao, Sort ordenacao, int limite);
+
+	/**
+	 * Percorre as projeções em um cursor somente-avanço. Como nenhuma entidade é
+	 * gerenciada, o contexto de persistência não cresce. Deve rodar em transação.
+	 */
+	void percorrer(Specification<Lancamento> especificacao, Sort ordenacao, Consumer<LancamentoProjecao> consumidor);
+
+	/**
+	 * Insere os lançamentos descarregando e limpando o contexto de persistência a
+	 * cada {@code tamanhoLote} registros, para que cada descarga vire um batch JDBC.
+	 */
+	void inserirEmLote(List<Lancamento> lancamentos, int tamanhoLote);
+
+	/**
+	 * Bloqueia os lançamentos da especificação com SELECT ... FOR UPDATE até o fim
+	 * da transação e retorna quantos foram bloqueados.
+	 */
+	int bloquear(Specification<Lancamento> especificacao);
+
+	/**
+	 * Soma e conta os lançamentos da especificação por usuário, ano, mês, tipo e status.
+	 */
+	List<GrupoLancamento> agrupar(Specification<Lancamento> especificacao);
+
+	/**
+	 * Soma e conta os lançamentos da especificação por tipo, em uma única consulta agrupada.
+	 */
+	List<TotalPorTipo> totalizarPorTipo(Specification<Lancamento> especificacao);
+
+	/**
+	 * Altera o status de todos os lançamentos da especificação com um único UPDATE.
+	 * A especificação não deve depender da consulta, que não existe neste caso.
+	 */
+	int atualizarStatus(Specification<Lancamento> especificacao, StatusLancamento status);
+
+	/**
+	 * Lançamentos do usuário cuja descrição tem, para cada termo, uma palavra que
+	 * começa por ele, dos mais parecidos com os termos para os menos. Os termos já
+	 * vêm em minúsculas e sem acentos. Usa o índice de trigramas e só existe nos
+	 * bancos migrados por db/migration/postgresql.
+	 */
+	List<LancamentoProjecao> pesquisarPorTrigramas(Long idUsuario, List<String> termos, int limite);
+}
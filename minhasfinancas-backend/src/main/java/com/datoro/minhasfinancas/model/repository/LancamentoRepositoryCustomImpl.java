@@ -0,0 +1,188 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+public class LancamentoRepositoryCustomImpl implements LancamentoRepositoryCustom {
+
+	static final int TAMANHO_FETCH = 500;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<LancamentoProjecao> buscar(Specification<Lancamento> especificacao, Sort ordenacao) {
+		return entityManager.createQuery(criarConsulta(especificacao, ordenacao)).getResultList();
+	}
+
+	@Override
+	public List<LancamentoProjecao> buscar(Specification<Lancamento> especificacao, Sort ordenacao, int limite) {
+		return entityManager.createQuery(criarConsulta(especificacao, ordenacao)).setMaxResults(limite).getResultList();
+	}
+
+	@Override
+	public void percorrer(Specification<Lancamento> especificacao, Sort ordenacao, Consumer<LancamentoProjecao> consumidor) {
+		try (Stream<LancamentoProjecao> lancamentos = entityManager.createQuery(criarConsulta(especificacao, ordenacao))
+				.setHint(QueryHints.HINT_FETCH_SIZE, TAMANHO_FETCH)
+				.getResultStream()) {
+
+			lancamentos.forEach(consumidor);
+		}
+	}
+
+	@Override
+	public void inserirEmLote(List<Lancamento> lancamentos, int tamanhoLote) {
+		for (int i = 0; i < lancamentos.size(); i++) {
+			entityManager.persist(lancamentos.get(i));
+
+			if ((i + 1) % tamanhoLote == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Override
+	public int bloquear(Specification<Lancamento> especificacao) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+
+		query.select(root.get("id"));
+		Predicate predicado = especificacao.toPredicate(root, query, cb);
+		if (predicado != null) {
+			query.where(predicado);
+		}
+
+		return entityManager.createQuery(query).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList().size();
+	}
+
+	@Override
+	public List<GrupoLancamento> agrupar(Specification<Lancamento> especificacao) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<GrupoLancamento> query = cb.createQuery(GrupoLancamento.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+		Path<Long> idUsuario = root.get("usuario").get("id");
+
+		query.select(cb.construct(GrupoLancamento.class, idUsuario, root.get("ano"), root.get("mes"),
+				root.get("tipo"), root.get("status"), cb.sum(root.<BigDecimal>get("valor")), cb.count(root)));
+		Predicate predicado = especificacao.toPredicate(root, query, cb);
+		if (predicado != null) {
+			query.where(predicado);
+		}
+		query.groupBy(idUsuario, root.get("ano"), root.get("mes"), root.get("tipo"), root.get("status"));
+
+		return entityManager.createQuery(query).getResultList();
+	}
+
+	@Override
+	public List<TotalPorTipo> totalizarPorTipo(Specification<Lancamento> especificacao) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<TotalPorTipo> query = cb.createQuery(TotalPorTipo.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+
+		query.select(cb.construct(TotalPorTipo.class, root.get("tipo"), cb.sum(root.<BigDecimal>get("valor")), cb.count(root)));
+		Predicate predicado = especificacao.toPredicate(root, query, cb);
+		if (predicado != null) {
+			query.where(predicado);
+		}
+		query.groupBy(root.get("tipo"));
+
+		return entityManager.createQuery(query).getResultList();
+	}
+
+	@Override
+	public int atualizarStatus(Specification<Lancamento> especificacao, StatusLancamento status) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Lancamento> update = cb.createCriteriaUpdate(Lancamento.class);
+		Root<Lancamento> root = update.from(Lancamento.class);
+
+		update.set(root.<StatusLancamento>get("status"), status);
+		Predicate predicado = especificacao.toPredicate(root, null, cb);
+		if (predicado != null) {
+			update.where(predicado);
+		}
+
+		// Alterações pendentes entram no UPDATE e o contexto não guarda status antigos.
+		entityManager.flush();
+		int atualizados = entityManager.createQuery(update).executeUpdate();
+		entityManager.clear();
+		return atualizados;
+	}
+
+	@Override
+	public List<LancamentoProjecao> pesquisarPorTrigramas(Long idUsuario, List<String> termos, int limite) {
+		// O LIKE é o que o índice de trigramas atende; a expressão regular confere o início de palavra.
+		StringBuilder sql = new StringBuilder("select l.id, l.descricao, l.mes, l.ano, l.valor, l.id_usuario, l.tipo, l.status"
+				+ " from financas.lancamento l where l.id_usuario = :idUsuario");
+		for (int i = 0; i < termos.size(); i++) {
+			sql.append(" and financas.normalizar_descricao(l.descricao) like :contem").append(i)
+			   .append(" and financas.normalizar_descricao(l.descricao) ~ :palavra").append(i);
+		}
+		sql.append(" order by public.similarity(financas.normalizar_descricao(l.descricao), :texto) desc, l.id desc");
+
+		Query query = entityManager.createNativeQuery(sql.toString())
+				.setParameter("idUsuario", idUsuario)
+				.setParameter("texto", String.join(" ", termos))
+				.setMaxResults(limite);
+		for (int i = 0; i < termos.size(); i++) {
+			query.setParameter("contem" + i, "%" + termos.get(i) + "%");
+			query.setParameter("palavra" + i, "\\m" + termos.get(i));
+		}
+
+		List<?> linhas = query.getResultList();
+		List<LancamentoProjecao> lancamentos = new ArrayList<>(linhas.size());
+		for (Object linha : linhas) {
+			Object[] colunas = (Object[]) linha;
+			lancamentos.add(new LancamentoProjecao(((Number) colunas[0]).longValue(), (String) colunas[1],
+					(Integer) colunas[2], (Integer) colunas[3], (BigDecimal) colunas[4],
+					colunas[5] != null ? ((Number) colunas[5]).longValue() : null,
+					colunas[6] != null ? TipoLancamento.valueOf((String) colunas[6]) : null,
+					colunas[7] != null ? StatusLancamento.valueOf((String) colunas[7]) : null));
+		}
+		return lancamentos;
+	}
+
+	private CriteriaQuery<LancamentoProjecao> criarConsulta(Specification<Lancamento> especificacao, Sort ordenacao) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<LancamentoProjecao> query = cb.createQuery(LancamentoProjecao.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+
+		// Apenas as colunas da projeção; o id do usuário vem da própria FK, sem join.
+		query.select(cb.construct(LancamentoProjecao.class, root.get("id"), root.get("descricao"), root.get("mes"),
+				root.get("ano"), root.get("valor"), root.get("usuario").get("id"), root.get("tipo"), root.get("status")));
+
+		Predicate predicado = especificacao.toPredicate(root, query, cb);
+		if (predicado != null) {
+			query.where(predicado);
+		}
+		query.orderBy(QueryUtils.toOrders(ordenacao, root, cb));
+
+		return query;
+	}
+}
@@ -0,0 +1,137 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+
+public final class LancamentoSpecifications {
+
+	private LancamentoSpecifications() {
+	}
+
+	/**
+	 * Mesma semântica da consulta por exemplo usada em {@code buscar}: descrição
+	 * contendo o texto (ignorando maiúsculas) e igualdade nos demais campos.
+	 */
+	public static Specification<Lancamento> doFiltro(Lancamento filtro) {
+		return doFiltro(FiltroLancamento.de(filtro));
+	}
+
+	/**
+	 * Predicados na ordem das colunas dos índices (id_usuario, ano, mes, id) e
+	 * (id_usuario, tipo, status, valor): igualdade em id_usuario primeiro, depois
+	 * faixas sobre colunas sem funções. O período vira também uma faixa simples em
+	 * ano, que o índice e a poda de partições usam. A descrição fica por último.
+	 */
+	public static Specification<Lancamento> doFiltro(FiltroLancamento filtro) {
+		Specification<Lancamento> spec = Specification.where(null);
+
+		if (filtro.getIdUsuario() != null) {
+			spec = spec.and(doUsuario(filtro.getIdUsuario()));
+		}
+		if (filtro.getAno() != null) {
+			spec = spec.and((root, query, cb) -> cb.equal(root.get("ano"), filtro.getAno()));
+		}
+		if (filtro.getPeriodoInicial() != null) {
+			spec = spec.and(aPartirDe(filtro.getPeriodoInicial()));
+		}
+		if (filtro.getPeriodoFinal() != null) {
+			spec = spec.and(ate(filtro.getPeriodoFinal()));
+		}
+		if (filtro.getMes() != null) {
+			spec = spec.and((root, query, cb) -> cb.equal(root.get("mes"), filtro.getMes()));
+		}
+		if (filtro.getTipos() != null && !filtro.getTipos().isEmpty()) {
+			spec = spec.and(emUm("tipo", filtro.getTipos()));
+		}
+		if (filtro.getStatus() != null && !filtro.getStatus().isEmpty()) {
+			spec = spec.and(emUm("status", filtro.getStatus()));
+		}
+		if (filtro.getValorMinimo() != null) {
+			spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("valor"), filtro.getValorMinimo()));
+		}
+		if (filtro.getValorMaximo() != null) {
+			spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("valor"), filtro.getValorMaximo()));
+		}
+		if (filtro.getCadastroInicial() != null) {
+			spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dataCadastro"), filtro.getCadastroInicial()));
+		}
+		if (filtro.getCadastroFinal() != null) {
+			spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("dataCadastro"), filtro.getCadastroFinal()));
+		}
+		if (filtro.getDescricao() != null) {
+			String termo = "%" + filtro.getDescricao().toLowerCase() + "%";
+			spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("descricao")), termo));
+		}
+
+		return spec;
+	}
+
+	/**
+	 * Lançamentos do mês informado em diante. Em janeiro basta o limite em ano.
+	 */
+	public static Specification<Lancamento> aPartirDe(YearMonth periodo) {
+		int ano = periodo.getYear();
+		int mes = periodo.getMonthValue();
+		if (mes == 1) {
+			return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("ano"), ano);
+		}
+		return (root, query, cb) -> cb.and(
+				cb.greaterThanOrEqualTo(root.get("ano"), ano),
+				cb.or(cb.greaterThan(root.get("ano"), ano), cb.greaterThanOrEqualTo(root.get("mes"), mes)));
+	}
+
+	/**
+	 * Lançamentos até o mês informado, inclusive. Em dezembro basta o limite em ano.
+	 */
+	public static Specification<Lancamento> ate(YearMonth periodo) {
+		int ano = periodo.getYear();
+		int mes = periodo.getMonthValue();
+		if (mes == 12) {
+			return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("ano"), ano);
+		}
+		return (root, query, cb) -> cb.and(
+				cb.lessThanOrEqualTo(root.get("ano"), ano),
+				cb.or(cb.lessThan(root.get("ano"), ano), cb.lessThanOrEqualTo(root.get("mes"), mes)));
+	}
+
+	/**
+	 * Lançamentos posteriores ao cursor na ordem (ano, mes, id). O limite inferior
+	 * em ano permite o uso do índice (id_usuario, ano, mes) como faixa.
+	 */
+	public static Specification<Lancamento> aposCursor(CursorLancamento cursor) {
+		return (root, query, cb) -> cb.and(
+				cb.greaterThanOrEqualTo(root.get("ano"), cursor.getAno()),
+				cb.or(
+						cb.greaterThan(root.get("ano"), cursor.getAno()),
+						cb.greaterThan(root.get("mes"), cursor.getMes()),
+						cb.and(cb.equal(root.get("mes"), cursor.getMes()),
+								cb.greaterThan(root.get("id"), cursor.getId()))));
+	}
+
+	public static Specification<Lancamento> doUsuario(Long idUsuario) {
+		return (root, query, cb) -> cb.equal(root.get("usuario").get("id"), idUsuario);
+	}
+
+	public static Specification<Lancamento> comIds(Collection<Long> ids) {
+		return (root, query, cb) -> root.get("id").in(ids);
+	}
+
+	public static Specification<Lancamento> comStatusDiferenteDe(StatusLancamento status) {
+		return (root, query, cb) -> cb.notEqual(root.get("status"), status);
+	}
+
+	// Um único valor vira igualdade, que gera o mesmo plano da consulta por exemplo.
+	private static Specification<Lancamento> emUm(String campo, Set<?> valores) {
+		if (valores.size() == 1) {
+			Object valor = valores.iterator().next();
+			return (root, query, cb) -> cb.equal(root.get(campo), valor);
+		}
+		return (root, query, cb) -> root.get(campo).in(valores);
+	}
+}
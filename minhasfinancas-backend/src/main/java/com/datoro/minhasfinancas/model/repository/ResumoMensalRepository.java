@@ -0,0 +1,36 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.datoro.minhasfinancas.model.entity.ResumoMensal;
+import com.datoro.minhasfinancas.model.entity.ResumoMensalId;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+
+public interface ResumoMensalRepository extends JpaRepository<ResumoMensal, ResumoMensalId>,
+		ResumoMensalRepositoryCustom {
+
+	List<ResumoMensal> findByIdUsuarioAndAnoAndStatusNot(Long idUsuario, Integer ano, StatusLancamento status);
+
+	/**
+	 * Saldo efetivado acumulado de cada mês com movimento até (ano, mes), em ordem:
+	 * uma soma em janela sobre o resumo agrupado por mês, sem ler lançamentos.
+	 */
+	@Query(value = "select r.ano as ano, r.mes as mes,"
+			     + " sum(sum(case when r.tipo = 'DESPESA' then -r.total else r.total end)) over (order by r.ano, r.mes) as saldo"
+			     + " from financas.resumo_mensal r"
+			     + " where r.id_usuario = :idUsuario and r.status = 'EFETIVADO'"
+			     + " and (r.ano < :ano or (r.ano = :ano and r.mes <= :mes))"
+			     + " group by r.ano, r.mes order by r.ano, r.mes", nativeQuery = true)
+	List<SaldoMensal> obterSaldosAcumulados(@Param("idUsuario") Long idUsuario,
+			@Param("ano") Integer ano,
+			@Param("mes") Integer mes);
+
+	@Modifying
+	@Query("delete from ResumoMensal r where r.idUsuario = :idUsuario")
+	int excluirPorUsuario(@Param("idUsuario") Long idUsuario);
+}
@@ -0,0 +1,16 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+public interface ResumoMensalRepositoryCustom {
+
+	/**
+	 * Soma total e quantidade à linha da chave, criando-a se ainda não existir, em
+	 * uma única instrução.
+	 */
+	void somar(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status,
+			BigDecimal total, Long quantidade);
+}
@@ -0,0 +1,37 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.datoro.minhasfinancas.model.entity.ResumoMensal;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+public class ResumoMensalRepositoryCustomImpl implements ResumoMensalRepositoryCustom {
+
+	private static final String POSTGRESQL = "insert into financas.resumo_mensal as r"
+			+ " (id_usuario, ano, mes, tipo, status, total, quantidade) values (?1, ?2, ?3, ?4, ?5, ?6, ?7)"
+			+ " on conflict (id_usuario, ano, mes, tipo, status)"
+			+ " do update set total = r.total + excluded.total, quantidade = r.quantidade + excluded.quantidade";
+
+	private static final String MERGE = "merge into financas.resumo_mensal r"
+			+ " using (select cast(?1 as bigint) as id_usuario, cast(?2 as integer) as ano, cast(?3 as integer) as mes,"
+			+ " cast(?4 as varchar(20)) as tipo, cast(?5 as varchar(20)) as status,"
+			+ " cast(?6 as numeric(16, 2)) as total, cast(?7 as bigint) as quantidade) n"
+			+ " on r.id_usuario = n.id_usuario and r.ano = n.ano and r.mes = n.mes and r.tipo = n.tipo and r.status = n.status"
+			+ " when matched then update set total = r.total + n.total, quantidade = r.quantidade + n.quantidade"
+			+ " when not matched then insert (id_usuario, ano, mes, tipo, status, total, quantidade)"
+			+ " values (n.id_usuario, n.ano, n.mes, n.tipo, n.status, n.total, n.quantidade)";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public void somar(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status,
+			BigDecimal total, Long quantidade) {
+		UpsertNativo.executar(entityManager, ResumoMensal.class, POSTGRESQL, MERGE, idUsuario, ano, mes, tipo.name(),
+				status.name(), total, quantidade);
+	}
+}
@@ -0,0 +1,48 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.datoro.minhasfinancas.model.entity.SaldoDiario;
+import com.datoro.minhasfinancas.model.entity.SaldoDiarioId;
+
+public interface SaldoDiarioRepository extends JpaRepository<SaldoDiario, SaldoDiarioId> {
+
+	/**
+	 * Última linha do usuário até a data: uma descida na chave primária (id_usuario, data).
+	 */
+	Optional<SaldoDiario> findFirstByIdUsuarioAndDataLessThanEqualOrderByDataDesc(Long idUsuario, LocalDate data);
+
+	/**
+	 * Copia o saldo_usuario atual para a linha já existente do dia.
+	 */
+	@Modifying
+	@Query(value = "update financas.saldo_diario set saldo ="
+			     + " (select s.saldo from financas.saldo_usuario s where s.id_usuario = :idUsuario)"
+			     + " where id_usuario = :idUsuario and data = :data", nativeQuery = true)
+	int atualizarDoSaldoAtual(@Param("idUsuario") Long idUsuario, @Param("data") LocalDate data);
+
+	/**
+	 * Cria a linha do dia com o saldo_usuario atual.
+	 */
+	@Modifying
+	@Query(value = "insert into financas.saldo_diario (id_usuario, data, saldo)"
+			     + " select s.id_usuario, :data, s.saldo from financas.saldo_usuario s where s.id_usuario = :idUsuario",
+		   nativeQuery = true)
+	int inserirDoSaldoAtual(@Param("idUsuario") Long idUsuario, @Param("data") LocalDate data);
+
+	/**
+	 * Usuários cujo saldo_usuario difere da última linha diária, ou que não têm nenhuma.
+	 */
+	@Query(value = "select s.id_usuario from financas.saldo_usuario s"
+			     + " where not exists (select 1 from financas.saldo_diario d where d.id_usuario = s.id_usuario"
+			     + " and d.data = (select max(m.data) from financas.saldo_diario m where m.id_usuario = s.id_usuario)"
+			     + " and d.saldo = s.saldo)", nativeQuery = true)
+	List<Long> obterUsuariosDivergentes();
+}
@@ -0,0 +1,15 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Saldo efetivado acumulado até o fim de um mês.
+ */
+public interface SaldoMensal {
+
+	Integer getAno();
+
+	Integer getMes();
+
+	BigDecimal getSaldo();
+}
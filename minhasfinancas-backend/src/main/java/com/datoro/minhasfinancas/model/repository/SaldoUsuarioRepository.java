@@ -0,0 +1,30 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.datoro.minhasfinancas.model.entity.SaldoUsuario;
+
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long>,
+		SaldoUsuarioRepositoryCustom {
+
+	/**
+	 * Lê o saldo com SELECT ... FOR UPDATE, na mesma ordem de bloqueio das escritas
+	 * de lançamento, que atualizam saldo_usuario antes de saldo_diario.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select s from SaldoUsuario s where s.idUsuario = :idUsuario")
+	Optional<SaldoUsuario> obterParaAlteracao(@Param("idUsuario") Long idUsuario);
+
+	@Modifying
+	@Query("update SaldoUsuario s set s.saldo = s.saldo + :delta where s.idUsuario = :idUsuario")
+	int somarAoSaldo(@Param("idUsuario") Long idUsuario, @Param("delta") BigDecimal delta);
+}
@@ -0,0 +1,12 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+public interface SaldoUsuarioRepositoryCustom {
+
+	/**
+	 * Cria a linha do usuário com o saldo inicial ou, se ela já existir, soma o
+	 * delta a ela, em uma única instrução.
+	 */
+	void criarOuSomar(Long idUsuario, BigDecimal saldoInicial, BigDecimal delta);
+}
@@ -0,0 +1,28 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.datoro.minhasfinancas.model.entity.SaldoUsuario;
+
+public class SaldoUsuarioRepositoryCustomImpl implements SaldoUsuarioRepositoryCustom {
+
+	private static final String POSTGRESQL = "insert into financas.saldo_usuario as s (id_usuario, saldo) values (?1, ?2)"
+			+ " on conflict (id_usuario) do update set saldo = s.saldo + ?3";
+
+	private static final String MERGE = "merge into financas.saldo_usuario s"
+			+ " using (select cast(?1 as bigint) as id_usuario, cast(?2 as numeric(16, 2)) as saldo) n"
+			+ " on s.id_usuario = n.id_usuario"
+			+ " when matched then update set saldo = s.saldo + ?3"
+			+ " when not matched then insert (id_usuario, saldo) values (n.id_usuario, n.saldo)";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public void criarOuSomar(Long idUsuario, BigDecimal saldoInicial, BigDecimal delta) {
+		UpsertNativo.executar(entityManager, SaldoUsuario.class, POSTGRESQL, MERGE, idUsuario, saldoInicial, delta);
+	}
+}
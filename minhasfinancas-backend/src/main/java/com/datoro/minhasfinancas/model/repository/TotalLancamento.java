@@ -0,0 +1,15 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+public interface TotalLancamento {
+
+	TipoLancamento getTipo();
+
+	StatusLancamento getStatus();
+
+	BigDecimal getTotal();
+}
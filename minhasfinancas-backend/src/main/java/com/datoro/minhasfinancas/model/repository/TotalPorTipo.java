@@ -0,0 +1,20 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Soma e quantidade dos lançamentos de uma especificação com o mesmo tipo.
+ */
+@Data
+@AllArgsConstructor
+public class TotalPorTipo {
+
+	private TipoLancamento tipo;
+	private BigDecimal total;
+	private Long quantidade;
+}
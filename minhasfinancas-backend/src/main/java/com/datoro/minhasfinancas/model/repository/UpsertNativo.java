@@ -0,0 +1,36 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Upsert em uma única instrução: INSERT ... ON CONFLICT no PostgreSQL e MERGE no
+ * H2, que não tem ON CONFLICT. No PostgreSQL, o conflito com uma linha ainda não
+ * confirmada espera o commit dela, então duas primeiras escritas da mesma chave
+ * nunca falham por chave duplicada. A instrução é sincronizada com a entidade:
+ * sem isso, o Hibernate invalidaria todas as regiões do cache de segundo nível.
+ */
+final class UpsertNativo {
+
+	private UpsertNativo() {
+	}
+
+	static int executar(EntityManager entityManager, Class<?> entidade, String postgresql, String merge,
+			Object... parametros) {
+		NativeQuery<?> query = entityManager.createNativeQuery(postgresql(entityManager) ? postgresql : merge)
+				.unwrap(NativeQuery.class);
+		query.addSynchronizedEntityClass(entidade);
+		for (int i = 0; i < parametros.length; i++) {
+			query.setParameter(i + 1, parametros[i]);
+		}
+		return query.executeUpdate();
+	}
+
+	private static boolean postgresql(EntityManager entityManager) {
+		return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices()
+				.getDialect() instanceof PostgreSQL81Dialect;
+	}
+}
@@ -2,13 +2,22 @@ package com.datoro.minhasfinancas.model.repository;
 
 import java.util.Optional;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.datoro.minhasfinancas.model.entity.Usuario;
 
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, UsuarioRepositoryCustom {
+	
+	String REGIAO_CONSULTAS = "usuario-consultas";
 	
+	@QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheRegion", value = REGIAO_CONSULTAS) })
 	boolean existsByEmail(String email);
 	
+	@QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+			@QueryHint(name = "org.hibernate.cacheRegion", value = REGIAO_CONSULTAS) })
 	Optional<Usuario> findByEmail(String email);
 }
@@ -0,0 +1,11 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import com.datoro.minhasfinancas.model.entity.Usuario;
+
+public interface UsuarioRepositoryCustom {
+
+	/**
+	 * Remove o usuário e as consultas por email do cache de segundo nível.
+	 */
+	void removerDoCache(Usuario usuario);
+}
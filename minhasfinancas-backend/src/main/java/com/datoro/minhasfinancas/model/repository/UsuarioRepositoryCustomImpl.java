@@ -0,0 +1,23 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Cache;
+
+import com.datoro.minhasfinancas.model.entity.Usuario;
+
+public class UsuarioRepositoryCustomImpl implements UsuarioRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public void removerDoCache(Usuario usuario) {
+		Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+		if (usuario.getId() != null) {
+			cache.evictEntityData(Usuario.class, usuario.getId());
+		}
+		cache.evictQueryRegion(UsuarioRepository.REGIAO_CONSULTAS);
+	}
+}
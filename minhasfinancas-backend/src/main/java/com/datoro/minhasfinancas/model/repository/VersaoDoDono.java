@@ -0,0 +1,11 @@
+package com.datoro.minhasfinancas.model.repository;
+
+/**
+ * Usuário dono de um lançamento e a versão dos dados dele.
+ */
+public interface VersaoDoDono {
+
+	Long getIdUsuario();
+
+	Long getVersao();
+}
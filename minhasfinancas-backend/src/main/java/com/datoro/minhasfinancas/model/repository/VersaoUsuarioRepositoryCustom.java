@@ -0,0 +1,10 @@
+package com.datoro.minhasfinancas.model.repository;
+
+public interface VersaoUsuarioRepositoryCustom {
+
+	/**
+	 * Incrementa a versão do usuário, criando o registro na versão 1 se ainda não
+	 * existir, em uma única instrução.
+	 */
+	void incrementar(Long idUsuario);
+}
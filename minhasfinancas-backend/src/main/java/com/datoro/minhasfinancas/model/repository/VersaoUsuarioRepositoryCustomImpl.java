@@ -0,0 +1,25 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.datoro.minhasfinancas.model.entity.VersaoUsuario;
+
+public class VersaoUsuarioRepositoryCustomImpl implements VersaoUsuarioRepositoryCustom {
+
+	private static final String POSTGRESQL = "insert into financas.versao_usuario as v (id_usuario, versao) values (?1, 1)"
+			+ " on conflict (id_usuario) do update set versao = v.versao + 1";
+
+	private static final String MERGE = "merge into financas.versao_usuario v"
+			+ " using (select cast(?1 as bigint) as id_usuario) n on v.id_usuario = n.id_usuario"
+			+ " when matched then update set versao = v.versao + 1"
+			+ " when not matched then insert (id_usuario, versao) values (n.id_usuario, 1)";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public void incrementar(Long idUsuario) {
+		UpsertNativo.executar(entityManager, VersaoUsuario.class, POSTGRESQL, MERGE, idUsuario);
+	}
+}
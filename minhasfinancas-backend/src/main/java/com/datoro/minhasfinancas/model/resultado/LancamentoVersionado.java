@@ -0,0 +1,15 @@
+package com.datoro.minhasfinancas.model.resultado;
+
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+
+import lombok.Value;
+
+/**
+ * Um lançamento e a versão dos dados do seu usuário, lidos na mesma instrução.
+ */
+@Value
+public class LancamentoVersionado {
+
+	Lancamento lancamento;
+	long versao;
+}
@@ -0,0 +1,24 @@
+package com.datoro.minhasfinancas.model.resultado;
+
+import java.util.List;
+
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Página da busca de lançamentos. Quantidade e totais só vêm quando pedidos e
+ * cobrem o filtro inteiro, não apenas a página.
+ */
+@Value
+@Builder(toBuilder = true)
+public class PaginaLancamentos {
+
+	List<LancamentoProjecao> itens;
+	/** Nulo na última página. */
+	String proximoCursor;
+	boolean temMais;
+	Long quantidadeTotal;
+	TotaisLancamento totais;
+}
@@ -0,0 +1,42 @@
+package com.datoro.minhasfinancas.model.resultado;
+
+import java.math.BigDecimal;
+
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Receitas e despesas somadas de um conjunto de lançamentos; o saldo é a diferença.
+ */
+@Data
+@AllArgsConstructor
+public class TotaisLancamento {
+
+	private BigDecimal receitas;
+	private BigDecimal despesas;
+
+	public static TotaisLancamento zerados() {
+		return new TotaisLancamento(BigDecimal.ZERO, BigDecimal.ZERO);
+	}
+
+	/**
+	 * Soma o valor às receitas ou às despesas, conforme o tipo. Sem tipo ou sem
+	 * valor, não soma nada.
+	 */
+	public void somar(TipoLancamento tipo, BigDecimal valor) {
+		if (valor == null) {
+			return;
+		}
+		if (tipo == TipoLancamento.RECEITA) {
+			receitas = receitas.add(valor);
+		} else if (tipo == TipoLancamento.DESPESA) {
+			despesas = despesas.add(valor);
+		}
+	}
+
+	public BigDecimal getSaldo() {
+		return receitas.subtract(despesas);
+	}
+}
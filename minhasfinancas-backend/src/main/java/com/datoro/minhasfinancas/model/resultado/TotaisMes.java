@@ -0,0 +1,16 @@
+package com.datoro.minhasfinancas.model.resultado;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Totais efetivados e pendentes de um mês do resumo anual; os cancelados ficam de fora.
+ */
+@Data
+@AllArgsConstructor
+public class TotaisMes {
+
+	private Integer mes;
+	private TotaisLancamento efetivado;
+	private TotaisLancamento pendente;
+}
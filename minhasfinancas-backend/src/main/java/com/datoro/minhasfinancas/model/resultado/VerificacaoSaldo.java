@@ -0,0 +1,20 @@
+package com.datoro.minhasfinancas.model.resultado;
+
+import java.math.BigDecimal;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Resultado do recálculo do saldo de um usuário a partir dos lançamentos.
+ */
+@Value
+@Builder
+public class VerificacaoSaldo {
+
+	Long usuario;
+	/** Nulo quando o usuário ainda não tinha registro de saldo. */
+	BigDecimal saldoRegistrado;
+	BigDecimal saldoCalculado;
+	BigDecimal divergencia;
+}
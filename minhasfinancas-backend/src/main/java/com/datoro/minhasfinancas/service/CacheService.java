@@ -0,0 +1,13 @@
+package com.datoro.minhasfinancas.service;
+
+import java.util.Map;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+public interface CacheService {
+
+	/**
+	 * Estatísticas de cada região do cache de segundo nível, pelo nome da região.
+	 */
+	Map<String, CacheRegionStatistics> obterEstatisticas();
+}
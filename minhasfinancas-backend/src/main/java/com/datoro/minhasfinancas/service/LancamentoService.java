@@ -2,26 +2,85 @@ package com.datoro.minhasfinancas.service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.datoro.minhasfinancas.model.entity.Lancamento;
 import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.repository.FiltroLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
+import com.datoro.minhasfinancas.model.repository.VersaoDoDono;
+import com.datoro.minhasfinancas.model.resultado.LancamentoVersionado;
+import com.datoro.minhasfinancas.model.resultado.PaginaLancamentos;
+import com.datoro.minhasfinancas.model.resultado.TotaisLancamento;
 
 public interface LancamentoService {
 
 	Lancamento salvar(Lancamento lancamento);
 	
+	/**
+	 * Mensagem de erro de cada lançamento inválido, pela posição dele na lista, em ordem.
+	 */
+	Map<Integer, String> validarLote(List<Lancamento> lancamentos);
+	
+	int salvarLote(List<Lancamento> lancamentos);
+	
 	Lancamento atualizar(Lancamento lancamento);
 	
 	void deletar(Lancamento lancamento);
 	
-	List<Lancamento> buscar(Lancamento lancamento);
+	List<LancamentoProjecao> buscar(Lancamento lancamento);
+	
+	/**
+	 * Busca com a versão dos dados do usuário já lida por quem chama, para não
+	 * lê-la de novo ao consultar o cache.
+	 */
+	List<LancamentoProjecao> buscar(FiltroLancamento filtro, long versaoUsuario);
+	
+	PaginaLancamentos buscarPagina(Lancamento lancamentoFiltro, String cursor, int tamanho);
+	
+	/**
+	 * Todos os lançamentos do filtro em uma única página, com quantidade e totais
+	 * somados sobre o mesmo resultado, sem outra consulta.
+	 */
+	PaginaLancamentos buscarComTotais(FiltroLancamento filtro, long versaoUsuario);
+	
+	/**
+	 * Página na ordem (ano, mes, id); filtros com ordenação própria são rejeitados.
+	 * Com {@code comTotais}, inclui quantidade e totais do filtro inteiro, lidos na
+	 * mesma transação da página.
+	 */
+	PaginaLancamentos buscarPagina(FiltroLancamento filtro, String cursor, int tamanho, boolean comTotais);
+	
+	void exportar(Lancamento lancamentoFiltro, Consumer<LancamentoProjecao> consumidor);
+	
+	void exportar(FiltroLancamento filtro, Consumer<LancamentoProjecao> consumidor);
 	
 	void atualizarStatus(Lancamento lancamento, StatusLancamento status);
 	
+	Lancamento atualizarStatus(Long id, StatusLancamento status);
+	
+	/**
+	 * Altera o status dos lançamentos informados que pertencem ao usuário; ids de
+	 * outros usuários são ignorados. Retorna quantos foram alterados.
+	 */
+	int atualizarStatusPorIds(Long idUsuario, List<Long> ids, StatusLancamento status);
+	
+	int atualizarStatusPorFiltro(Lancamento lancamentoFiltro, StatusLancamento status);
+	
 	void validar(Lancamento lancamento);
 	
 	Optional<Lancamento> obterPorId(Long id);
 	
+	Optional<LancamentoVersionado> obterComVersao(Long id);
+	
+	Optional<VersaoDoDono> obterVersaoDoDono(Long id);
+	
 	BigDecimal obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(Long idUsuario);
+	
+	/**
+	 * Receitas e despesas do usuário por status, todos os status presentes.
+	 */
+	Map<StatusLancamento, TotaisLancamento> obterSaldoDetalhado(Long idUsuario);
 }
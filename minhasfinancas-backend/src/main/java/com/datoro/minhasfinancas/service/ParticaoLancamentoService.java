@@ -0,0 +1,8 @@
+package com.datoro.minhasfinancas.service;
+
+import java.util.List;
+
+public interface ParticaoLancamentoService {
+
+	List<String> criarParticoesDoAnoCorrenteEDoProximo();
+}
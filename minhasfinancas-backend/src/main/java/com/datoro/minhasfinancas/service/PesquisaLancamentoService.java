@@ -0,0 +1,18 @@
+package com.datoro.minhasfinancas.service;
+
+import java.util.List;
+
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
+
+/**
+ * Pesquisa de lançamentos por descrição, apoiada em índice. Cada palavra do
+ * texto precisa ser o início de uma palavra da descrição, sem distinção de
+ * maiúsculas nem de acentos: "merc pao" encontra "Mercado - Pão". O resultado
+ * vem ordenado pela relevância, não por período.
+ */
+public interface PesquisaLancamentoService {
+
+	int LIMITE_MAXIMO = 100;
+
+	List<LancamentoProjecao> pesquisar(Long idUsuario, String texto, int limite);
+}
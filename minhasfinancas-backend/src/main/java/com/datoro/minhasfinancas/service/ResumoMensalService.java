@@ -0,0 +1,30 @@
+package com.datoro.minhasfinancas.service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import com.datoro.minhasfinancas.model.repository.SaldoMensal;
+import com.datoro.minhasfinancas.model.resultado.TotaisMes;
+import com.datoro.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.datoro.minhasfinancas.service.event.LancamentosIncluidosEvent;
+import com.datoro.minhasfinancas.service.event.StatusLancamentosAlteradosEvent;
+
+public interface ResumoMensalService {
+
+	List<TotaisMes> obterResumoAnual(Long idUsuario, Integer ano);
+	
+	/**
+	 * Saldo efetivado acumulado ao fim de cada mês de {@code de} a {@code ate},
+	 * inclusive, contando o que veio antes de {@code de}. Meses sem movimento
+	 * repetem o saldo anterior.
+	 */
+	List<SaldoMensal> obterSerieSaldo(Long idUsuario, YearMonth de, YearMonth ate);
+	
+	void aoAlterarLancamento(LancamentoAlteradoEvent evento);
+	
+	void aoIncluirLancamentos(LancamentosIncluidosEvent evento);
+	
+	void aoAlterarStatus(StatusLancamentosAlteradosEvent evento);
+	
+	void recalcular(Long idUsuario);
+}
@@ -0,0 +1,29 @@
+package com.datoro.minhasfinancas.service;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import com.datoro.minhasfinancas.model.entity.SaldoDiario;
+
+public interface SaldoDiarioService {
+
+	/**
+	 * Grava o saldo_usuario atual como saldo do dia. Roda na transação que alterou
+	 * o saldo, depois da alteração, que já bloqueou a linha do usuário.
+	 */
+	void registrar(Long idUsuario);
+	
+	/**
+	 * Registro de onde sai o saldo realizado do usuário ao fim da data: o último
+	 * até ela. Vazio se não há registro até a data: o histórico começa no primeiro
+	 * registro do usuário, que para os usuários anteriores à V7 é o saldo da data da
+	 * migração, e antes dele o saldo é desconhecido.
+	 */
+	Optional<SaldoDiario> obterSaldoEm(Long idUsuario, LocalDate data);
+	
+	/**
+	 * Registra no dia o saldo dos usuários cujo último registro diverge de
+	 * saldo_usuario e retorna quantos foram corrigidos.
+	 */
+	int reconciliar();
+}
@@ -0,0 +1,23 @@
+package com.datoro.minhasfinancas.service;
+
+import java.math.BigDecimal;
+
+import com.datoro.minhasfinancas.model.resultado.VerificacaoSaldo;
+import com.datoro.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.datoro.minhasfinancas.service.event.LancamentosIncluidosEvent;
+import com.datoro.minhasfinancas.service.event.StatusLancamentosAlteradosEvent;
+
+public interface SaldoService {
+
+	BigDecimal obterSaldo(Long idUsuario);
+	
+	void aplicarDelta(Long idUsuario, BigDecimal delta);
+	
+	void aoAlterarLancamento(LancamentoAlteradoEvent evento);
+	
+	void aoIncluirLancamentos(LancamentosIncluidosEvent evento);
+	
+	void aoAlterarStatus(StatusLancamentosAlteradosEvent evento);
+	
+	VerificacaoSaldo recalcular(Long idUsuario);
+}
@@ -0,0 +1,18 @@
+package com.datoro.minhasfinancas.service;
+
+import com.datoro.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.datoro.minhasfinancas.service.event.LancamentosIncluidosEvent;
+import com.datoro.minhasfinancas.service.event.StatusLancamentosAlteradosEvent;
+
+public interface VersaoUsuarioService {
+
+	long obterVersao(Long idUsuario);
+	
+	void incrementar(Long idUsuario);
+	
+	void aoAlterarLancamento(LancamentoAlteradoEvent evento);
+	
+	void aoIncluirLancamentos(LancamentosIncluidosEvent evento);
+	
+	void aoAlterarStatus(StatusLancamentosAlteradosEvent evento);
+}
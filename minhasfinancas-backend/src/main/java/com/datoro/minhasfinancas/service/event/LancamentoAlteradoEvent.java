@@ -0,0 +1,14 @@
+package com.datoro.minhasfinancas.service.event;
+
+import lombok.Value;
+
+/**
+ * Publicado pelas operações de escrita de lançamentos dentro da transação.
+ * {@code anterior} é nulo na inclusão e {@code atual} é nulo na exclusão.
+ */
+@Value
+public class LancamentoAlteradoEvent {
+
+	MovimentoLancamento anterior;
+	MovimentoLancamento atual;
+}
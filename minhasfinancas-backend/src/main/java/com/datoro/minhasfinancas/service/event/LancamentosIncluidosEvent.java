@@ -0,0 +1,15 @@
+package com.datoro.minhasfinancas.service.event;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Publicado uma única vez por inclusão em lote, no lugar de um
+ * {@link LancamentoAlteradoEvent} por lançamento.
+ */
+@Value
+public class LancamentosIncluidosEvent {
+
+	List<MovimentoLancamento> movimentos;
+}
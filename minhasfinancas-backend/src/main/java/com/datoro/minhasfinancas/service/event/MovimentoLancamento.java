@@ -0,0 +1,54 @@
+package com.datoro.minhasfinancas.service.event;
+
+import java.math.BigDecimal;
+
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Cópia imutável do estado de um lançamento em um ponto da transação.
+ */
+@Value
+@Builder
+public class MovimentoLancamento {
+
+	Long id;
+	Long idUsuario;
+	String descricao;
+	Integer ano;
+	Integer mes;
+	BigDecimal valor;
+	TipoLancamento tipo;
+	StatusLancamento status;
+
+	public static MovimentoLancamento de(Lancamento lancamento) {
+		return MovimentoLancamento.builder()
+				.id(lancamento.getId())
+				.idUsuario(lancamento.getUsuario() != null ? lancamento.getUsuario().getId() : null)
+				.descricao(lancamento.getDescricao())
+				.ano(lancamento.getAno())
+				.mes(lancamento.getMes())
+				.valor(lancamento.getValor())
+				.tipo(lancamento.getTipo())
+				.status(lancamento.getStatus())
+				.build();
+	}
+
+	/**
+	 * Quanto este lançamento soma ao saldo realizado do usuário.
+	 */
+	public BigDecimal efeitoNoSaldo() {
+		return efeitoNoSaldo(tipo, status, valor);
+	}
+
+	public static BigDecimal efeitoNoSaldo(TipoLancamento tipo, StatusLancamento status, BigDecimal valor) {
+		if (status != StatusLancamento.EFETIVADO || valor == null) {
+			return BigDecimal.ZERO;
+		}
+		return tipo == TipoLancamento.DESPESA ? valor.negate() : valor;
+	}
+}
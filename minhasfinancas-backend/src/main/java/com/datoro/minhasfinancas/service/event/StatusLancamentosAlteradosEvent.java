@@ -0,0 +1,19 @@
+package com.datoro.minhasfinancas.service.event;
+
+import java.util.List;
+
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.repository.GrupoLancamento;
+
+import lombok.Value;
+
+/**
+ * Publicado por uma alteração de status em massa. Os grupos descrevem os
+ * lançamentos atingidos com o status que tinham antes do UPDATE.
+ */
+@Value
+public class StatusLancamentosAlteradosEvent {
+
+	List<GrupoLancamento> grupos;
+	StatusLancamento novoStatus;
+}
@@ -0,0 +1,91 @@
+package com.datoro.minhasfinancas.service.impl;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.datoro.minhasfinancas.model.repository.FiltroLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
+import com.datoro.minhasfinancas.service.VersaoUsuarioService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Resultados de {@code LancamentoService.buscar} por usuário e filtro.
+ *
+ * <p>A versão dos dados do usuário faz parte da chave. Cada escrita incrementa a
+ * versão e as entradas antigas deixam de ser encontradas, sem percorrer o cache;
+ * elas saem pelo limite de tamanho ou pela expiração. A versão é lida antes da
+ * consulta, então uma entrada nunca guarda dados mais antigos que a sua versão.
+ *
+ * <p>O limite é em lançamentos guardados, não em consultas. A expiração limita o
+ * tempo em que um resultado lido de uma réplica atrasada pode ser servido.
+ */
+@Component
+public class CacheBuscaLancamentos implements MeterBinder {
+
+	static final String NOME = "lancamentos-busca";
+
+	private final VersaoUsuarioService versaoService;
+	private final Cache<Chave, List<LancamentoProjecao>> cache;
+
+	public CacheBuscaLancamentos(VersaoUsuarioService versaoService,
+			@Value("${minhasfinancas.cache.busca.maximo-lancamentos:200000}") long maximoLancamentos,
+			@Value("${minhasfinancas.cache.busca.expiracao-segundos:300}") long expiracaoSegundos) {
+		this.versaoService = versaoService;
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(maximoLancamentos)
+				.<Chave, List<LancamentoProjecao>>weigher((chave, lancamentos) -> Math.max(1, lancamentos.size()))
+				.expireAfterWrite(Duration.ofSeconds(expiracaoSegundos))
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Devolve o resultado guardado para o filtro ou o obtém de {@code consulta}.
+	 * A lista devolvida é compartilhada entre requisições e não pode ser alterada.
+	 * Filtros sem usuário não são guardados.
+	 */
+	public List<LancamentoProjecao> obter(FiltroLancamento filtro, Supplier<List<LancamentoProjecao>> consulta) {
+		if (filtro.getIdUsuario() == null) {
+			return consulta.get();
+		}
+		return obter(filtro, versaoService.obterVersao(filtro.getIdUsuario()), consulta);
+	}
+
+	/**
+	 * Como {@link #obter(FiltroLancamento, Supplier)}, com a versão dos dados do
+	 * usuário já lida por quem chama, antes da consulta.
+	 */
+	public List<LancamentoProjecao> obter(FiltroLancamento filtro, long versaoUsuario,
+			Supplier<List<LancamentoProjecao>> consulta) {
+		if (filtro.getIdUsuario() == null) {
+			return consulta.get();
+		}
+		FiltroLancamento normalizado = filtro.getDescricao() != null
+				? filtro.toBuilder().descricao(filtro.getDescricao().toLowerCase()).build()
+				: filtro;
+
+		return cache.get(new Chave(versaoUsuario, normalizado), c -> Collections.unmodifiableList(consulta.get()));
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, cache, NOME);
+	}
+
+	@lombok.Value
+	static class Chave {
+
+		long versao;
+		FiltroLancamento filtro;
+	}
+}
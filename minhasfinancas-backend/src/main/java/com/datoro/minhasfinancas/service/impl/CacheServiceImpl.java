@@ -0,0 +1,37 @@
+package com.datoro.minhasfinancas.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import com.datoro.minhasfinancas.service.CacheService;
+
+@Service
+public class CacheServiceImpl implements CacheService {
+
+	private EntityManagerFactory entityManagerFactory;
+
+	public CacheServiceImpl(EntityManagerFactory entityManagerFactory) {
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	@Override
+	public Map<String, CacheRegionStatistics> obterEstatisticas() {
+		Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		Map<String, CacheRegionStatistics> regioes = new LinkedHashMap<>();
+		for (String regiao : estatisticas.getSecondLevelCacheRegionNames()) {
+			CacheRegionStatistics estatistica = estatisticas.getCacheRegionStatistics(regiao);
+			if (estatistica != null) {
+				regioes.put(regiao, estatistica);
+			}
+		}
+		return regioes;
+	}
+}
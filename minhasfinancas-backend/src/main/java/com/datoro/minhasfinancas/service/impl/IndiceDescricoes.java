@@ -0,0 +1,224 @@
+package com.datoro.minhasfinancas.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido das descrições dos lançamentos de um usuário: cada palavra
+ * normalizada aponta para os lançamentos que a contêm. As palavras ficam
+ * ordenadas, então os lançamentos com uma palavra começando por um prefixo são
+ * uma faixa do mapa.
+ *
+ * <p>A pesquisa parte do termo com menos lançamentos e confere os demais termos
+ * nas palavras de cada candidato. A relevância soma 2 por termo igual a uma
+ * palavra e 1 por termo que só é início de palavra; no empate, vêm primeiro as
+ * descrições mais curtas e depois os lançamentos mais novos.
+ */
+public class IndiceDescricoes {
+
+	private static final Comparator<Resultado> RELEVANCIA = Comparator.comparingInt(Resultado::getPontos)
+			.thenComparing(Comparator.comparingInt(Resultado::getPalavras).reversed())
+			.thenComparingLong(Resultado::getId);
+
+	private final NavigableMap<String, Ids> lancamentosPorPalavra = new TreeMap<>();
+	private final Map<Long, String[]> palavrasPorLancamento = new HashMap<>();
+	private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+	public void incluir(Long id, String descricao) {
+		String[] palavras = TermosPesquisa.de(descricao).toArray(new String[0]);
+		trava.writeLock().lock();
+		try {
+			retirar(id);
+			palavrasPorLancamento.put(id, palavras);
+			for (String palavra : palavras) {
+				lancamentosPorPalavra.computeIfAbsent(palavra, p -> new Ids()).adicionar(id);
+			}
+		} finally {
+			trava.writeLock().unlock();
+		}
+	}
+
+	public void remover(Long id) {
+		trava.writeLock().lock();
+		try {
+			retirar(id);
+		} finally {
+			trava.writeLock().unlock();
+		}
+	}
+
+	public int tamanho() {
+		trava.readLock().lock();
+		try {
+			return palavrasPorLancamento.size();
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Ids dos até {@code limite} lançamentos mais relevantes para os termos, já
+	 * normalizados por {@link TermosPesquisa}.
+	 */
+	public List<Long> pesquisar(List<String> termos, int limite) {
+		if (termos.isEmpty() || limite < 1) {
+			return Collections.emptyList();
+		}
+		trava.readLock().lock();
+		try {
+			String maisSeletivo = null;
+			long menor = Long.MAX_VALUE;
+			for (String termo : termos) {
+				long quantidade = contar(termo, menor);
+				if (quantidade < menor) {
+					maisSeletivo = termo;
+					menor = quantidade;
+				}
+			}
+			if (menor == 0) {
+				return Collections.emptyList();
+			}
+
+			PriorityQueue<Resultado> melhores = new PriorityQueue<>(limite + 1, RELEVANCIA);
+			for (Map.Entry<String, Ids> entrada : comPrefixo(maisSeletivo).entrySet()) {
+				Ids ids = entrada.getValue();
+				for (int i = 0; i < ids.tamanho; i++) {
+					long id = ids.valores[i];
+					String[] palavras = palavrasPorLancamento.get(id);
+					// Um lançamento com duas palavras de mesmo prefixo é avaliado só pela primeira.
+					if (!primeiraComPrefixo(palavras, maisSeletivo).equals(entrada.getKey())) {
+						continue;
+					}
+					int pontos = pontuar(palavras, termos);
+					if (pontos > 0) {
+						melhores.add(new Resultado(id, pontos, palavras.length));
+						if (melhores.size() > limite) {
+							melhores.poll();
+						}
+					}
+				}
+			}
+
+			List<Long> ids = new ArrayList<>(melhores.size());
+			while (!melhores.isEmpty()) {
+				ids.add(melhores.poll().getId());
+			}
+			Collections.reverse(ids);
+			return ids;
+		} finally {
+			trava.readLock().unlock();
+		}
+	}
+
+	private void retirar(Long id) {
+		String[] anteriores = palavrasPorLancamento.remove(id);
+		if (anteriores == null) {
+			return;
+		}
+		for (String palavra : anteriores) {
+			Ids ids = lancamentosPorPalavra.get(palavra);
+			ids.remover(id);
+			if (ids.tamanho == 0) {
+				lancamentosPorPalavra.remove(palavra);
+			}
+		}
+	}
+
+	private NavigableMap<String, Ids> comPrefixo(String prefixo) {
+		return lancamentosPorPalavra.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false);
+	}
+
+	// Para de somar ao passar de limite: o termo já não é o mais seletivo.
+	private long contar(String termo, long limite) {
+		long total = 0;
+		for (Ids ids : comPrefixo(termo).values()) {
+			total += ids.tamanho;
+			if (total >= limite) {
+				break;
+			}
+		}
+		return total;
+	}
+
+	private static String primeiraComPrefixo(String[] palavras, String prefixo) {
+		String primeira = null;
+		for (String palavra : palavras) {
+			if (palavra.startsWith(prefixo) && (primeira == null || palavra.compareTo(primeira) < 0)) {
+				primeira = palavra;
+			}
+		}
+		return primeira;
+	}
+
+	// Zero quando algum termo não é início de nenhuma palavra.
+	private static int pontuar(String[] palavras, List<String> termos) {
+		int total = 0;
+		for (String termo : termos) {
+			int melhor = 0;
+			for (String palavra : palavras) {
+				if (palavra.equals(termo)) {
+					melhor = 2;
+					break;
+				}
+				if (palavra.startsWith(termo)) {
+					melhor = 1;
+				}
+			}
+			if (melhor == 0) {
+				return 0;
+			}
+			total += melhor;
+		}
+		return total;
+	}
+
+	/**
+	 * Ids de uma palavra em um vetor ordenado, sem um objeto por id. Lançamentos
+	 * novos têm os maiores ids e entram no fim.
+	 */
+	private static class Ids {
+
+		long[] valores = new long[2];
+		int tamanho;
+
+		void adicionar(long id) {
+			int posicao = Arrays.binarySearch(valores, 0, tamanho, id);
+			if (posicao >= 0) {
+				return;
+			}
+			posicao = -posicao - 1;
+			if (tamanho == valores.length) {
+				valores = Arrays.copyOf(valores, tamanho * 2);
+			}
+			System.arraycopy(valores, posicao, valores, posicao + 1, tamanho - posicao);
+			valores[posicao] = id;
+			tamanho++;
+		}
+
+		void remover(long id) {
+			int posicao = Arrays.binarySearch(valores, 0, tamanho, id);
+			if (posicao >= 0) {
+				System.arraycopy(valores, posicao + 1, valores, posicao, tamanho - posicao - 1);
+				tamanho--;
+			}
+		}
+	}
+
+	@lombok.Value
+	private static class Resultado {
+
+		long id;
+		int pontos;
+		int palavras;
+	}
+}
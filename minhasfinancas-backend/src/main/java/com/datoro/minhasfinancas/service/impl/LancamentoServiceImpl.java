@@ -1,30 +1,65 @@
 package com.datoro.minhasfinancas.service.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.datoro.minhasfinancas.exception.RegraNegocioException;
 import com.datoro.minhasfinancas.model.entity.Lancamento;
 import com.datoro.minhasfinancas.model.enums.StatusLancamento;
-import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.repository.CursorLancamento;
+import com.datoro.minhasfinancas.model.repository.FiltroLancamento;
+import com.datoro.minhasfinancas.model.repository.GrupoLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
 import com.datoro.minhasfinancas.model.repository.LancamentoRepository;
+import com.datoro.minhasfinancas.model.repository.LancamentoSpecifications;
+import com.datoro.minhasfinancas.model.repository.TotalLancamento;
+import com.datoro.minhasfinancas.model.repository.TotalPorTipo;
+import com.datoro.minhasfinancas.model.repository.UsuarioRepository;
+import com.datoro.minhasfinancas.model.repository.VersaoDoDono;
+import com.datoro.minhasfinancas.model.resultado.LancamentoVersionado;
+import com.datoro.minhasfinancas.model.resultado.PaginaLancamentos;
+import com.datoro.minhasfinancas.model.resultado.TotaisLancamento;
 import com.datoro.minhasfinancas.service.LancamentoService;
+import com.datoro.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.datoro.minhasfinancas.service.event.LancamentosIncluidosEvent;
+import com.datoro.minhasfinancas.service.event.MovimentoLancamento;
+import com.datoro.minhasfinancas.service.event.StatusLancamentosAlteradosEvent;
 
 @Service
 public class LancamentoServiceImpl implements LancamentoService {
 
+	public static final int TAMANHO_MAXIMO_PAGINA = 500;
+	
+	private static final Sort ORDEM_CURSOR = Sort.by("ano", "mes", "id");
+
 	private LancamentoRepository repository;
+	private UsuarioRepository usuarioRepository;
+	private ApplicationEventPublisher eventPublisher;
+	private CacheBuscaLancamentos cacheBusca;
+	private int tamanhoLote;
 	
-	public LancamentoServiceImpl(LancamentoRepository repository) {
+	public LancamentoServiceImpl(LancamentoRepository repository, UsuarioRepository usuarioRepository,
+			ApplicationEventPublisher eventPublisher, CacheBuscaLancamentos cacheBusca,
+			@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int tamanhoLote) {
 		this.repository = repository;
+		this.usuarioRepository = usuarioRepository;
+		this.eventPublisher = eventPublisher;
+		this.cacheBusca = cacheBusca;
+		this.tamanhoLote = tamanhoLote;
 	}
 	
 	@Override
@@ -32,7 +67,41 @@ public class LancamentoServiceImpl implements LancamentoService {
 	public Lancamento salvar(Lancamento lancamento) {
 		validar(lancamento);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
-		return repository.save(lancamento);
+		Lancamento salvo = repository.save(lancamento);
+		
+		eventPublisher.publishEvent(new LancamentoAlteradoEvent(null, MovimentoLancamento.de(salvo)));
+		return salvo;
+	}
+
+	@Override
+	public Map<Integer, String> validarLote(List<Lancamento> lancamentos) {
+		Map<Integer, String> erros = new LinkedHashMap<>();
+		
+		for (int i = 0; i < lancamentos.size(); i++) {
+			try {
+				validar(lancamentos.get(i));
+			} catch (RegraNegocioException e) {
+				erros.put(i, e.getMessage());
+			}
+		}
+		return erros;
+	}
+
+	@Override
+	@Transactional
+	public int salvarLote(List<Lancamento> lancamentos) {
+		Map<Integer, String> erros = validarLote(lancamentos);
+		if (!erros.isEmpty()) {
+			throw new RegraNegocioException("Lote inválido: " + erros.size() + " lançamento(s) com erro.");
+		}
+		
+		lancamentos.forEach(lancamento -> lancamento.setStatus(StatusLancamento.PENDENTE));
+		repository.inserirEmLote(lancamentos, tamanhoLote);
+		
+		List<MovimentoLancamento> movimentos = new ArrayList<>(lancamentos.size());
+		lancamentos.forEach(lancamento -> movimentos.add(MovimentoLancamento.de(lancamento)));
+		eventPublisher.publishEvent(new LancamentosIncluidosEvent(movimentos));
+		return lancamentos.size();
 	}
 
 	@Override
@@ -41,21 +110,121 @@ public class LancamentoServiceImpl implements LancamentoService {
 		Objects.requireNonNull(lancamento.getId());
 		validar(lancamento);
 		
-		return repository.save(lancamento);
+		// Estado gravado antes do merge, para os derivados aplicarem apenas a diferença. O bloqueio
+		// impede que duas alterações simultâneas partam do mesmo estado e apliquem a diferença duas vezes.
+		MovimentoLancamento anterior = repository.obterParaAlteracao(lancamento.getId()).map(MovimentoLancamento::de)
+				.orElseThrow(() -> new RegraNegocioException("Lancamento não encontrado na base de dados."));
+		
+		// O usuário gravado é garantido pela chave estrangeira; só um usuário novo precisa ser conferido.
+		Long idUsuario = lancamento.getUsuario().getId();
+		if (!idUsuario.equals(anterior.getIdUsuario()) && !usuarioRepository.findById(idUsuario).isPresent()) {
+			throw new RegraNegocioException("Usuario não encontrado para o Id informado.");
+		}
+		Lancamento salvo = repository.save(lancamento);
+		
+		eventPublisher.publishEvent(new LancamentoAlteradoEvent(anterior, MovimentoLancamento.de(salvo)));
+		return salvo;
 	}
 
 	@Override
 	@Transactional
 	public void deletar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
+		Optional<MovimentoLancamento> anterior = repository.obterParaAlteracao(lancamento.getId())
+				.map(MovimentoLancamento::de);
 		repository.delete(lancamento);
+		
+		anterior.ifPresent(movimento -> eventPublisher.publishEvent(new LancamentoAlteradoEvent(movimento, null)));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<LancamentoProjecao> buscar(Lancamento lancamentoFiltro) {
+		FiltroLancamento filtro = FiltroLancamento.de(lancamentoFiltro);
+		return cacheBusca.obter(filtro, () -> repository.buscar(LancamentoSpecifications.doFiltro(filtro), ORDEM_CURSOR));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<LancamentoProjecao> buscar(FiltroLancamento filtro, long versaoUsuario) {
+		filtro.validar();
+		Sort ordenacao = filtro.getOrdenacao() != null ? filtro.getOrdenacao() : ORDEM_CURSOR;
+		return cacheBusca.obter(filtro, versaoUsuario,
+				() -> repository.buscar(LancamentoSpecifications.doFiltro(filtro), ordenacao));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public PaginaLancamentos buscarPagina(Lancamento lancamentoFiltro, String cursor, int tamanho) {
+		return buscarPagina(FiltroLancamento.de(lancamentoFiltro), cursor, tamanho, false);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public PaginaLancamentos buscarComTotais(FiltroLancamento filtro, long versaoUsuario) {
+		List<LancamentoProjecao> lancamentos = buscar(filtro, versaoUsuario);
+
+		// O resultado completo já está em memória (e quase sempre no cache): somar aqui evita outra varredura.
+		TotaisLancamento totais = TotaisLancamento.zerados();
+		lancamentos.forEach(lancamento -> totais.somar(lancamento.getTipo(), lancamento.getValor()));
+
+		return PaginaLancamentos.builder().itens(lancamentos).temMais(false)
+				.quantidadeTotal((long) lancamentos.size()).totais(totais).build();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public PaginaLancamentos buscarPagina(FiltroLancamento filtro, String cursor, int tamanho, boolean comTotais) {
+		if (tamanho < 1) {
+			throw new RegraNegocioException("Informe um tamanho de página válido!");
+		}
+		if (filtro.getOrdenacao() != null) {
+			throw new RegraNegocioException("A paginação por cursor usa sempre a ordem (ano, mes, id); não informe a ordenação.");
+		}
+		filtro.validar();
+		tamanho = Math.min(tamanho, TAMANHO_MAXIMO_PAGINA);
+
+		Specification<Lancamento> especificacao = LancamentoSpecifications.doFiltro(filtro);
+		if (cursor != null && !cursor.isEmpty()) {
+			especificacao = especificacao.and(LancamentoSpecifications.aposCursor(CursorLancamento.decodificar(cursor)));
+		}
+
+		// Um registro a mais indica se existe próxima página sem precisar de count.
+		List<LancamentoProjecao> lancamentos = repository.buscar(especificacao, ORDEM_CURSOR, tamanho + 1);
+		boolean temMais = lancamentos.size() > tamanho;
+		if (temMais) {
+			lancamentos = lancamentos.subList(0, tamanho);
+		}
+
+		String proximoCursor = temMais ? CursorLancamento.de(lancamentos.get(tamanho - 1)).codificar() : null;
+		PaginaLancamentos pagina = PaginaLancamentos.builder().itens(lancamentos).proximoCursor(proximoCursor)
+				.temMais(temMais).build();
+
+		if (comTotais) {
+			// Agregado do filtro sem o cursor, na mesma transação e conexão da página.
+			TotaisLancamento totais = TotaisLancamento.zerados();
+			long quantidade = 0;
+			for (TotalPorTipo total : repository.totalizarPorTipo(LancamentoSpecifications.doFiltro(filtro))) {
+				totais.somar(total.getTipo(), total.getTotal());
+				quantidade += total.getQuantidade();
+			}
+			pagina = pagina.toBuilder().quantidadeTotal(quantidade).totais(totais).build();
+		}
+		return pagina;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void exportar(Lancamento lancamentoFiltro, Consumer<LancamentoProjecao> consumidor) {
+		exportar(FiltroLancamento.de(lancamentoFiltro), consumidor);
 	}
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<Lancamento> buscar(Lancamento lancamentoFiltro) {
-		Example<Lancamento> example = Example.of(lancamentoFiltro, ExampleMatcher.matching().withIgnoreCase().withStringMatcher(StringMatcher.CONTAINING));
-		return repository.findAll(example);
+	public void exportar(FiltroLancamento filtro, Consumer<LancamentoProjecao> consumidor) {
+		filtro.validar();
+		Sort ordenacao = filtro.getOrdenacao() != null ? filtro.getOrdenacao() : ORDEM_CURSOR;
+		repository.percorrer(LancamentoSpecifications.doFiltro(filtro), ordenacao, consumidor);
 	}
 
 	@Override
@@ -65,6 +234,63 @@ public class LancamentoServiceImpl implements LancamentoService {
 		atualizar(lancamento);
 	}
 
+	@Override
+	@Transactional
+	public Lancamento atualizarStatus(Long id, StatusLancamento status) {
+		Objects.requireNonNull(status);
+		
+		// Lido uma única vez, já bloqueado; a alteração do status sai no flush por dirty checking.
+		Lancamento lancamento = repository.obterParaAlteracao(id)
+				.orElseThrow(() -> new RegraNegocioException("Lancamento não encontrado na base de dados."));
+		MovimentoLancamento anterior = MovimentoLancamento.de(lancamento);
+		lancamento.setStatus(status);
+		
+		eventPublisher.publishEvent(new LancamentoAlteradoEvent(anterior, MovimentoLancamento.de(lancamento)));
+		return lancamento;
+	}
+
+	@Override
+	@Transactional
+	public int atualizarStatusPorIds(Long idUsuario, List<Long> ids, StatusLancamento status) {
+		if (idUsuario == null) {
+			throw new RegraNegocioException("Informe um Usuário!");
+		}
+		if (ids == null || ids.isEmpty()) {
+			throw new RegraNegocioException("Informe os lançamentos a atualizar!");
+		}
+		// O usuário entra no bloqueio, no agrupamento e no UPDATE: ids de outro usuário não são atingidos.
+		return atualizarStatusEmMassa(LancamentoSpecifications.doUsuario(idUsuario)
+				.and(LancamentoSpecifications.comIds(ids)), status);
+	}
+
+	@Override
+	@Transactional
+	public int atualizarStatusPorFiltro(Lancamento lancamentoFiltro, StatusLancamento status) {
+		if (lancamentoFiltro.getUsuario() == null || lancamentoFiltro.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um Usuário!");
+		}
+		return atualizarStatusEmMassa(LancamentoSpecifications.doFiltro(lancamentoFiltro), status);
+	}
+	
+	private int atualizarStatusEmMassa(Specification<Lancamento> especificacao, StatusLancamento status) {
+		Objects.requireNonNull(status);
+		especificacao = especificacao.and(LancamentoSpecifications.comStatusDiferenteDe(status));
+		
+		// Os grupos são lidos antes do UPDATE para que os derivados saibam de onde cada valor saiu;
+		// o bloqueio garante que nenhuma alteração concorrente mude os grupos entre as duas instruções.
+		if (repository.bloquear(especificacao) == 0) {
+			return 0;
+		}
+		List<GrupoLancamento> grupos = repository.agrupar(especificacao);
+		if (grupos.isEmpty()) {
+			return 0;
+		}
+		
+		int atualizados = repository.atualizarStatus(especificacao, status);
+		eventPublisher.publishEvent(new StatusLancamentosAlteradosEvent(grupos, status));
+		return atualizados;
+	}
+
 	@Override
 	public void validar(Lancamento lancamento) {
 		
@@ -98,20 +324,42 @@ public class LancamentoServiceImpl implements LancamentoService {
 		return repository.findById(id);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<LancamentoVersionado> obterComVersao(Long id) {
+		return repository.obterComVersao(id);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<VersaoDoDono> obterVersaoDoDono(Long id) {
+		return repository.obterVersaoDoDono(id);
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public BigDecimal obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(Long idUsuario) {
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(idUsuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO);
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuarioEStatus(idUsuario, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO);
-		
-		if(receitas == null) {
-			receitas = BigDecimal.ZERO;	
+		return totaisPorStatus(idUsuario).get(StatusLancamento.EFETIVADO).getSaldo();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Map<StatusLancamento, TotaisLancamento> obterSaldoDetalhado(Long idUsuario) {
+		return totaisPorStatus(idUsuario);
+	}
+	
+	// Uma única consulta agrupada por (tipo, status) atende todos os totais do usuário.
+	private Map<StatusLancamento, TotaisLancamento> totaisPorStatus(Long idUsuario) {
+		Map<StatusLancamento, TotaisLancamento> totais = new EnumMap<>(StatusLancamento.class);
+		for (StatusLancamento status : StatusLancamento.values()) {
+			totais.put(status, TotaisLancamento.zerados());
 		}
 		
-		if(despesas == null) {
-			despesas = BigDecimal.ZERO;	
+		for (TotalLancamento total : repository.obterTotaisPorTipoEStatus(idUsuario)) {
+			if (total.getStatus() != null) {
+				totais.get(total.getStatus()).somar(total.getTipo(), total.getTotal());
+			}
 		}
-		
-		return receitas.subtract(despesas);
+		return totais;
 	}
 }
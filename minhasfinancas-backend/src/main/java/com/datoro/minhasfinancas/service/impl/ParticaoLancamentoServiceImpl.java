@@ -0,0 +1,58 @@
+package com.datoro.minhasfinancas.service.impl;
+
+import java.time.Clock;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.datoro.minhasfinancas.model.repository.LancamentoRepository;
+import com.datoro.minhasfinancas.service.ParticaoLancamentoService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém criada a partição do ano seguinte, para que os lançamentos de janeiro
+ * não caiam na partição padrão. Roda na subida da aplicação e uma vez por mês;
+ * só é ativada nos perfis com PostgreSQL.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "minhasfinancas.particionamento.manutencao", havingValue = "true")
+public class ParticaoLancamentoServiceImpl implements ParticaoLancamentoService {
+
+	private LancamentoRepository repository;
+	private Clock relogio;
+
+	@Autowired
+	public ParticaoLancamentoServiceImpl(LancamentoRepository repository) {
+		this(repository, Clock.systemDefaultZone());
+	}
+
+	ParticaoLancamentoServiceImpl(LancamentoRepository repository, Clock relogio) {
+		this.repository = repository;
+		this.relogio = relogio;
+	}
+
+	@Override
+	@Transactional
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(cron = "${minhasfinancas.particionamento.cron:0 0 3 1 * *}")
+	public List<String> criarParticoesDoAnoCorrenteEDoProximo() {
+		int anoCorrente = Year.now(relogio).getValue();
+
+		List<String> particoes = new ArrayList<>();
+		for (int ano = anoCorrente; ano <= anoCorrente + 1; ano++) {
+			particoes.add(repository.criarParticao(ano));
+		}
+		log.info("Partições de lançamento disponíveis: {}", particoes);
+		return particoes;
+	}
+}
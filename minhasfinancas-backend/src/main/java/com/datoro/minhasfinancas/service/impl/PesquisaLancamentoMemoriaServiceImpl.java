@@ -0,0 +1,155 @@
+package com.datoro.minhasfinancas.service.impl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.datoro.minhasfinancas.model.repository.DescricaoLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
+import com.datoro.minhasfinancas.model.repository.LancamentoRepository;
+import com.datoro.minhasfinancas.model.repository.LancamentoSpecifications;
+import com.datoro.minhasfinancas.service.PesquisaLancamentoService;
+import com.datoro.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.datoro.minhasfinancas.service.event.LancamentosIncluidosEvent;
+import com.datoro.minhasfinancas.service.event.MovimentoLancamento;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Pesquisa por um {@link IndiceDescricoes} em memória por usuário, para bancos
+ * sem o índice de trigramas (H2). O índice do usuário é montado na primeira
+ * pesquisa e depois mantido pelos eventos de lançamento confirmados; usuários
+ * pouco usados saem pelo limite de lançamentos indexados.
+ *
+ * <p>A montagem e a aplicação de eventos do mesmo usuário são exclusivas. Um
+ * evento aplicado antes da montagem encontra o índice ausente e é descartado,
+ * mas a leitura que vem depois já enxerga o commit dele; um evento de commit já
+ * lido pela montagem é aplicado de novo sem efeito. Por isso a montagem lê do
+ * primário, e não de uma réplica que pode estar atrasada.
+ *
+ * <p>Cada instância mantém o próprio índice; escritas feitas por outra instância
+ * só aparecem aqui quando o índice do usuário é montado de novo.
+ */
+@Service
+@ConditionalOnProperty(name = "minhasfinancas.pesquisa.modo", havingValue = "memoria", matchIfMissing = true)
+public class PesquisaLancamentoMemoriaServiceImpl implements PesquisaLancamentoService, MeterBinder {
+
+	static final String NOME = "lancamentos-pesquisa";
+
+	private static final int TRAVAS = 64;
+
+	private LancamentoRepository repository;
+	private Cache<Long, IndiceDescricoes> indices;
+	private Object[] travas = new Object[TRAVAS];
+
+	public PesquisaLancamentoMemoriaServiceImpl(LancamentoRepository repository,
+			@Value("${minhasfinancas.pesquisa.memoria.maximo-lancamentos:1000000}") long maximoLancamentos) {
+		this.repository = repository;
+		this.indices = Caffeine.newBuilder()
+				.maximumWeight(maximoLancamentos)
+				.<Long, IndiceDescricoes>weigher((idUsuario, indice) -> Math.max(1, indice.tamanho()))
+				.recordStats()
+				.build();
+		for (int i = 0; i < TRAVAS; i++) {
+			travas[i] = new Object();
+		}
+	}
+
+	@Override
+	@Transactional
+	public List<LancamentoProjecao> pesquisar(Long idUsuario, String texto, int limite) {
+		List<String> termos = TermosPesquisa.de(texto);
+		if (termos.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<Long> ids = indice(idUsuario).pesquisar(termos, Math.min(limite, LIMITE_MAXIMO));
+		if (ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Map<Long, LancamentoProjecao> porId = repository.buscar(LancamentoSpecifications.comIds(ids), Sort.unsorted())
+				.stream()
+				.collect(Collectors.toMap(LancamentoProjecao::getId, Function.identity()));
+		return ids.stream().map(porId::get).filter(Objects::nonNull).collect(Collectors.toList());
+	}
+
+	@TransactionalEventListener
+	public void aoAlterarLancamento(LancamentoAlteradoEvent evento) {
+		MovimentoLancamento anterior = evento.getAnterior();
+		MovimentoLancamento atual = evento.getAtual();
+
+		if (anterior != null && (atual == null || !Objects.equals(anterior.getIdUsuario(), atual.getIdUsuario()))) {
+			aplicar(anterior.getIdUsuario(), indice -> indice.remover(anterior.getId()));
+		}
+		if (atual != null) {
+			aplicar(atual.getIdUsuario(), indice -> indice.incluir(atual.getId(), atual.getDescricao()));
+		}
+	}
+
+	@TransactionalEventListener
+	public void aoIncluirLancamentos(LancamentosIncluidosEvent evento) {
+		evento.getMovimentos().stream()
+				.filter(movimento -> movimento.getIdUsuario() != null)
+				.collect(Collectors.groupingBy(MovimentoLancamento::getIdUsuario))
+				.forEach((idUsuario, movimentos) -> aplicar(idUsuario,
+						indice -> movimentos.forEach(movimento -> indice.incluir(movimento.getId(), movimento.getDescricao()))));
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, indices, NOME);
+	}
+
+	private IndiceDescricoes indice(Long idUsuario) {
+		IndiceDescricoes indice = indices.getIfPresent(idUsuario);
+		if (indice != null) {
+			return indice;
+		}
+		synchronized (trava(idUsuario)) {
+			indice = indices.getIfPresent(idUsuario);
+			if (indice == null) {
+				IndiceDescricoes novo = new IndiceDescricoes();
+				try (Stream<DescricaoLancamento> descricoes = repository.percorrerDescricoes(idUsuario)) {
+					descricoes.forEach(descricao -> novo.incluir(descricao.getId(), descricao.getDescricao()));
+				}
+				indices.put(idUsuario, novo);
+				indice = novo;
+			}
+			return indice;
+		}
+	}
+
+	private void aplicar(Long idUsuario, Consumer<IndiceDescricoes> alteracao) {
+		if (idUsuario == null) {
+			return;
+		}
+		synchronized (trava(idUsuario)) {
+			IndiceDescricoes indice = indices.getIfPresent(idUsuario);
+			if (indice != null) {
+				alteracao.accept(indice);
+				// O peso muda com o tamanho; put recalcula e aplica o limite.
+				indices.put(idUsuario, indice);
+			}
+		}
+	}
+
+	private Object trava(Long idUsuario) {
+		return travas[Math.floorMod(idUsuario.hashCode(), TRAVAS)];
+	}
+}
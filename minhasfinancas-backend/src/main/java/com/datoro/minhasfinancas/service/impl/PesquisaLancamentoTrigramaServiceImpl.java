@@ -0,0 +1,37 @@
+package com.datoro.minhasfinancas.service.impl;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
+import com.datoro.minhasfinancas.model.repository.LancamentoRepository;
+import com.datoro.minhasfinancas.service.PesquisaLancamentoService;
+
+/**
+ * Pesquisa no PostgreSQL pelo índice de trigramas de {@code V6__pesquisa_descricao},
+ * ordenada pela similaridade de trigramas com o texto pesquisado.
+ */
+@Service
+@ConditionalOnProperty(name = "minhasfinancas.pesquisa.modo", havingValue = "trigrama")
+public class PesquisaLancamentoTrigramaServiceImpl implements PesquisaLancamentoService {
+
+	private LancamentoRepository repository;
+
+	public PesquisaLancamentoTrigramaServiceImpl(LancamentoRepository repository) {
+		this.repository = repository;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<LancamentoProjecao> pesquisar(Long idUsuario, String texto, int limite) {
+		List<String> termos = TermosPesquisa.de(texto);
+		if (termos.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return repository.pesquisarPorTrigramas(idUsuario, termos, Math.min(limite, LIMITE_MAXIMO));
+	}
+}
@@ -0,0 +1,196 @@
+package com.datoro.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.datoro.minhasfinancas.exception.RegraNegocioException;
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.ResumoMensal;
+import com.datoro.minhasfinancas.model.entity.ResumoMensalId;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.repository.GrupoLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoRepository;
+import com.datoro.minhasfinancas.model.repository.LancamentoSpecifications;
+import com.datoro.minhasfinancas.model.repository.ResumoMensalRepository;
+import com.datoro.minhasfinancas.model.repository.SaldoMensal;
+import com.datoro.minhasfinancas.model.resultado.TotaisLancamento;
+import com.datoro.minhasfinancas.model.resultado.TotaisMes;
+import com.datoro.minhasfinancas.service.ResumoMensalService;
+import com.datoro.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.datoro.minhasfinancas.service.event.LancamentosIncluidosEvent;
+import com.datoro.minhasfinancas.service.event.MovimentoLancamento;
+import com.datoro.minhasfinancas.service.event.StatusLancamentosAlteradosEvent;
+
+import lombok.Value;
+
+@Service
+public class ResumoMensalServiceImpl implements ResumoMensalService {
+
+	public static final int MESES_MAXIMOS_SERIE = 600;
+
+	private ResumoMensalRepository repository;
+	private LancamentoRepository lancamentoRepository;
+
+	public ResumoMensalServiceImpl(ResumoMensalRepository repository, LancamentoRepository lancamentoRepository) {
+		this.repository = repository;
+		this.lancamentoRepository = lancamentoRepository;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<TotaisMes> obterResumoAnual(Long idUsuario, Integer ano) {
+		List<TotaisMes> meses = new ArrayList<>();
+		for (int mes = 1; mes <= 12; mes++) {
+			meses.add(new TotaisMes(mes, TotaisLancamento.zerados(), TotaisLancamento.zerados()));
+		}
+
+		for (ResumoMensal resumo : repository.findByIdUsuarioAndAnoAndStatusNot(idUsuario, ano, StatusLancamento.CANCELADO)) {
+			TotaisMes mes = meses.get(resumo.getMes() - 1);
+			TotaisLancamento totais = resumo.getStatus() == StatusLancamento.EFETIVADO ? mes.getEfetivado() : mes.getPendente();
+			totais.somar(resumo.getTipo(), resumo.getTotal());
+		}
+
+		return meses;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<SaldoMensal> obterSerieSaldo(Long idUsuario, YearMonth de, YearMonth ate) {
+		if (de.isAfter(ate)) {
+			throw new RegraNegocioException("O mês inicial da série deve ser anterior ao final!");
+		}
+		if (ChronoUnit.MONTHS.between(de, ate) >= MESES_MAXIMOS_SERIE) {
+			throw new RegraNegocioException("A série de saldo pode ter no máximo " + MESES_MAXIMOS_SERIE + " meses!");
+		}
+
+		// Só os meses com movimento vêm do banco; os saldos anteriores a "de" apenas dão o ponto de partida.
+		List<SaldoMensal> acumulados = repository.obterSaldosAcumulados(idUsuario, ate.getYear(), ate.getMonthValue());
+		List<SaldoMensal> serie = new ArrayList<>((int) ChronoUnit.MONTHS.between(de, ate) + 1);
+		BigDecimal saldo = BigDecimal.ZERO;
+		int i = 0;
+		for (YearMonth mes = de; !mes.isAfter(ate); mes = mes.plusMonths(1)) {
+			while (i < acumulados.size() && !YearMonth.of(acumulados.get(i).getAno(), acumulados.get(i).getMes()).isAfter(mes)) {
+				saldo = acumulados.get(i++).getSaldo();
+			}
+			serie.add(new SaldoNoMes(mes.getYear(), mes.getMonthValue(), saldo));
+		}
+		return serie;
+	}
+
+	@Override
+	@EventListener
+	public void aoAlterarLancamento(LancamentoAlteradoEvent evento) {
+		Acumulador acumulador = new Acumulador();
+		if (evento.getAnterior() != null) {
+			acumulador.subtrair(evento.getAnterior());
+		}
+		if (evento.getAtual() != null) {
+			acumulador.somar(evento.getAtual());
+		}
+		aplicar(acumulador);
+	}
+
+	@Override
+	@EventListener
+	public void aoIncluirLancamentos(LancamentosIncluidosEvent evento) {
+		Acumulador acumulador = new Acumulador();
+		evento.getMovimentos().forEach(acumulador::somar);
+		aplicar(acumulador);
+	}
+
+	@Override
+	@EventListener
+	public void aoAlterarStatus(StatusLancamentosAlteradosEvent evento) {
+		Acumulador acumulador = new Acumulador();
+		for (GrupoLancamento grupo : evento.getGrupos()) {
+			acumulador.adicionar(chave(grupo, grupo.getStatus()), grupo.getTotal().negate(), -grupo.getQuantidade());
+			acumulador.adicionar(chave(grupo, evento.getNovoStatus()), grupo.getTotal(), grupo.getQuantidade());
+		}
+		aplicar(acumulador);
+	}
+
+	@Override
+	@Transactional
+	public void recalcular(Long idUsuario) {
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(Usuario.builder().id(idUsuario).build());
+		Specification<Lancamento> doUsuario = LancamentoSpecifications.doFiltro(filtro);
+
+		// Mesma ordem das escritas: primeiro os lançamentos, depois o resumo. Alterações, exclusões e
+		// mudanças de status do usuário esperam o commit; uma inclusão concorrente, que não bloqueia os
+		// lançamentos já gravados, soma o seu movimento pelo upsert ao que for regravado aqui.
+		lancamentoRepository.bloquear(doUsuario);
+		repository.excluirPorUsuario(idUsuario);
+
+		for (GrupoLancamento grupo : lancamentoRepository.agrupar(doUsuario)) {
+			repository.somar(grupo.getIdUsuario(), grupo.getAno(), grupo.getMes(), grupo.getTipo(), grupo.getStatus(),
+					grupo.getTotal(), grupo.getQuantidade());
+		}
+	}
+
+	// Um upsert por chave atingida: a primeira escrita de uma chave nova não corre contra outra.
+	private void aplicar(Acumulador acumulador) {
+		acumulador.totais.forEach((chave, total) -> {
+			Long quantidade = acumulador.quantidades.get(chave);
+			if (total.signum() == 0 && quantidade == 0) {
+				return;
+			}
+
+			repository.somar(chave.getIdUsuario(), chave.getAno(), chave.getMes(), chave.getTipo(), chave.getStatus(),
+					total, quantidade);
+		});
+	}
+
+	private ResumoMensalId chave(GrupoLancamento grupo, StatusLancamento status) {
+		return new ResumoMensalId(grupo.getIdUsuario(), grupo.getAno(), grupo.getMes(), grupo.getTipo(), status);
+	}
+
+	// Mês da série; os meses sem movimento não vêm do banco e são criados aqui.
+	@Value
+	private static class SaldoNoMes implements SaldoMensal {
+
+		Integer ano;
+		Integer mes;
+		BigDecimal saldo;
+	}
+
+	private static class Acumulador {
+
+		private final Map<ResumoMensalId, BigDecimal> totais = new LinkedHashMap<>();
+		private final Map<ResumoMensalId, Long> quantidades = new LinkedHashMap<>();
+
+		void somar(MovimentoLancamento movimento) {
+			adicionar(chave(movimento), movimento.getValor(), 1L);
+		}
+
+		void subtrair(MovimentoLancamento movimento) {
+			BigDecimal valor = movimento.getValor();
+			adicionar(chave(movimento), valor != null ? valor.negate() : null, -1L);
+		}
+
+		void adicionar(ResumoMensalId chave, BigDecimal total, Long quantidade) {
+			if (chave.getIdUsuario() == null || chave.getAno() == null || chave.getMes() == null
+					|| chave.getTipo() == null || chave.getStatus() == null || total == null) {
+				return;
+			}
+			totais.merge(chave, total, BigDecimal::add);
+			quantidades.merge(chave, quantidade, Long::sum);
+		}
+
+		private static ResumoMensalId chave(MovimentoLancamento movimento) {
+			return new ResumoMensalId(movimento.getIdUsuario(), movimento.getAno(), movimento.getMes(),
+					movimento.getTipo(), movimento.getStatus());
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.datoro.minhasfinancas.service.impl;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.datoro.minhasfinancas.model.entity.SaldoDiario;
+import com.datoro.minhasfinancas.model.repository.SaldoDiarioRepository;
+import com.datoro.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.datoro.minhasfinancas.service.SaldoDiarioService;
+import com.datoro.minhasfinancas.service.VersaoUsuarioService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registros diários do saldo realizado. Cada escrita de lançamento grava o saldo
+ * do dia na própria transação, então o saldo em uma data passada é uma única
+ * leitura na chave primária, sem somar lançamentos. O dia é o do fuso da
+ * aplicação. O job diário cobre o que mudar saldo_usuario por fora das escritas.
+ */
+@Slf4j
+@Service
+public class SaldoDiarioServiceImpl implements SaldoDiarioService {
+
+	private SaldoDiarioRepository repository;
+	private SaldoUsuarioRepository saldoUsuarioRepository;
+	private VersaoUsuarioService versaoService;
+	private Clock relogio;
+
+	@Autowired
+	public SaldoDiarioServiceImpl(SaldoDiarioRepository repository, SaldoUsuarioRepository saldoUsuarioRepository,
+			VersaoUsuarioService versaoService) {
+		this(repository, saldoUsuarioRepository, versaoService, Clock.systemDefaultZone());
+	}
+
+	SaldoDiarioServiceImpl(SaldoDiarioRepository repository, SaldoUsuarioRepository saldoUsuarioRepository,
+			VersaoUsuarioService versaoService, Clock relogio) {
+		this.repository = repository;
+		this.saldoUsuarioRepository = saldoUsuarioRepository;
+		this.versaoService = versaoService;
+		this.relogio = relogio;
+	}
+
+	@Override
+	@Transactional
+	public void registrar(Long idUsuario) {
+		LocalDate hoje = LocalDate.now(relogio);
+		if (repository.atualizarDoSaldoAtual(idUsuario, hoje) == 0) {
+			repository.inserirDoSaldoAtual(idUsuario, hoje);
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<SaldoDiario> obterSaldoEm(Long idUsuario, LocalDate data) {
+		return repository.findFirstByIdUsuarioAndDataLessThanEqualOrderByDataDesc(idUsuario, data);
+	}
+
+	@Override
+	@Transactional
+	@Scheduled(cron = "${minhasfinancas.saldo-diario.cron:0 30 0 * * *}")
+	public int reconciliar() {
+		List<Long> divergentes = repository.obterUsuariosDivergentes();
+		for (Long idUsuario : divergentes) {
+			// Com a linha bloqueada, nenhuma escrita concorrente cria a linha do dia entre o UPDATE e o INSERT.
+			saldoUsuarioRepository.obterParaAlteracao(idUsuario);
+			registrar(idUsuario);
+			// O saldo informado para o dia muda sem escrita de lançamento; a versão muda para invalidar as ETags.
+			versaoService.incrementar(idUsuario);
+		}
+		if (!divergentes.isEmpty()) {
+			log.warn("Saldo diário registrado para {} usuário(s) divergente(s) de saldo_usuario.", divergentes.size());
+		}
+		return divergentes.size();
+	}
+}
@@ -0,0 +1,150 @@
+package com.datoro.minhasfinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.datoro.minhasfinancas.model.entity.SaldoUsuario;
+import com.datoro.minhasfinancas.model.repository.GrupoLancamento;
+import com.datoro.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.datoro.minhasfinancas.model.resultado.VerificacaoSaldo;
+import com.datoro.minhasfinancas.service.LancamentoService;
+import com.datoro.minhasfinancas.service.SaldoDiarioService;
+import com.datoro.minhasfinancas.service.SaldoService;
+import com.datoro.minhasfinancas.service.VersaoUsuarioService;
+import com.datoro.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.datoro.minhasfinancas.service.event.LancamentosIncluidosEvent;
+import com.datoro.minhasfinancas.service.event.MovimentoLancamento;
+import com.datoro.minhasfinancas.service.event.StatusLancamentosAlteradosEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class SaldoServiceImpl implements SaldoService {
+
+	private SaldoUsuarioRepository repository;
+	private LancamentoService lancamentoService;
+	private VersaoUsuarioService versaoService;
+	private SaldoDiarioService saldoDiarioService;
+
+	public SaldoServiceImpl(SaldoUsuarioRepository repository, LancamentoService lancamentoService,
+			VersaoUsuarioService versaoService, SaldoDiarioService saldoDiarioService) {
+		this.repository = repository;
+		this.lancamentoService = lancamentoService;
+		this.versaoService = versaoService;
+		this.saldoDiarioService = saldoDiarioService;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public BigDecimal obterSaldo(Long idUsuario) {
+		return repository.findById(idUsuario)
+				.map(SaldoUsuario::getSaldo)
+				.orElseGet(() -> lancamentoService.obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(idUsuario));
+	}
+
+	@Override
+	@Transactional
+	public void aplicarDelta(Long idUsuario, BigDecimal delta) {
+		if (idUsuario == null || delta.signum() == 0) {
+			return;
+		}
+
+		// Sem registro ainda: o cálculo já enxerga a alteração desta transação. Se uma escrita concorrente
+		// criar o registro antes, o upsert espera o commit dela e soma só o delta ao que ela gravou.
+		if (repository.somarAoSaldo(idUsuario, delta) == 0) {
+			repository.criarOuSomar(idUsuario,
+					lancamentoService.obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(idUsuario), delta);
+		}
+		// A linha de saldo_usuario fica bloqueada até o commit: a do dia segue a mesma ordem.
+		saldoDiarioService.registrar(idUsuario);
+	}
+
+	@Override
+	@EventListener
+	public void aoAlterarLancamento(LancamentoAlteradoEvent evento) {
+		MovimentoLancamento anterior = evento.getAnterior();
+		MovimentoLancamento atual = evento.getAtual();
+
+		if (anterior != null && atual != null && Objects.equals(anterior.getIdUsuario(), atual.getIdUsuario())) {
+			aplicarDelta(atual.getIdUsuario(), atual.efeitoNoSaldo().subtract(anterior.efeitoNoSaldo()));
+			return;
+		}
+
+		if (anterior != null) {
+			aplicarDelta(anterior.getIdUsuario(), anterior.efeitoNoSaldo().negate());
+		}
+		if (atual != null) {
+			aplicarDelta(atual.getIdUsuario(), atual.efeitoNoSaldo());
+		}
+	}
+
+	@Override
+	@EventListener
+	public void aoIncluirLancamentos(LancamentosIncluidosEvent evento) {
+		Map<Long, BigDecimal> deltas = new HashMap<>();
+		evento.getMovimentos().forEach(movimento -> 
+			deltas.merge(movimento.getIdUsuario(), movimento.efeitoNoSaldo(), BigDecimal::add));
+
+		deltas.forEach(this::aplicarDelta);
+	}
+
+	@Override
+	@EventListener
+	public void aoAlterarStatus(StatusLancamentosAlteradosEvent evento) {
+		Map<Long, BigDecimal> deltas = new HashMap<>();
+
+		for (GrupoLancamento grupo : evento.getGrupos()) {
+			BigDecimal delta = MovimentoLancamento.efeitoNoSaldo(grupo.getTipo(), evento.getNovoStatus(), grupo.getTotal())
+					.subtract(MovimentoLancamento.efeitoNoSaldo(grupo.getTipo(), grupo.getStatus(), grupo.getTotal()));
+			deltas.merge(grupo.getIdUsuario(), delta, BigDecimal::add);
+		}
+
+		deltas.forEach(this::aplicarDelta);
+	}
+
+	@Override
+	@Transactional
+	public VerificacaoSaldo recalcular(Long idUsuario) {
+		// O registro é bloqueado antes do cálculo: uma escrita de lançamento concorrente espera o commit
+		// e soma o seu delta ao saldo recalculado, em vez de ser sobrescrita por ele.
+		Optional<SaldoUsuario> existente = repository.obterParaAlteracao(idUsuario);
+		BigDecimal registrado = existente.map(SaldoUsuario::getSaldo).orElse(null);
+		SaldoUsuario saldo = existente.orElseGet(() -> criarParaAlteracao(idUsuario));
+
+		BigDecimal calculado = lancamentoService.obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(idUsuario);
+		BigDecimal divergencia = calculado.subtract(registrado != null ? registrado : BigDecimal.ZERO);
+
+		if (registrado != null && divergencia.signum() != 0) {
+			log.warn("Saldo do usuário {} divergente: registrado {}, calculado {}.", idUsuario, registrado, calculado);
+			// O saldo informado muda sem escrita de lançamento; a versão muda para invalidar as ETags.
+			versaoService.incrementar(idUsuario);
+		}
+
+		saldo.setSaldo(calculado);
+		repository.saveAndFlush(saldo);
+		saldoDiarioService.registrar(idUsuario);
+
+		return VerificacaoSaldo.builder()
+				.usuario(idUsuario)
+				.saldoRegistrado(registrado)
+				.saldoCalculado(calculado)
+				.divergencia(divergencia)
+				.build();
+	}
+
+	// Sem registro, cria um zerado pelo upsert, que já deixa a linha bloqueada; uma primeira escrita
+	// concorrente espera o commit e soma o seu delta ao que for recalculado aqui.
+	private SaldoUsuario criarParaAlteracao(Long idUsuario) {
+		repository.criarOuSomar(idUsuario, BigDecimal.ZERO, BigDecimal.ZERO);
+		return repository.obterParaAlteracao(idUsuario)
+				.orElseThrow(() -> new IllegalStateException("Saldo do usuário " + idUsuario + " não foi criado."));
+	}
+}
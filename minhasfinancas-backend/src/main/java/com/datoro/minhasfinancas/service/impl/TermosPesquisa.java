@@ -0,0 +1,37 @@
+package com.datoro.minhasfinancas.service.impl;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Quebra um texto nas palavras usadas pela pesquisa: minúsculas, sem acentos e
+ * sem pontuação, na mesma normalização de {@code financas.normalizar_descricao}.
+ */
+public final class TermosPesquisa {
+
+	private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private TermosPesquisa() {
+	}
+
+	/**
+	 * As palavras distintas do texto, na ordem em que aparecem.
+	 */
+	public static List<String> de(String texto) {
+		if (texto == null) {
+			return Collections.emptyList();
+		}
+		String normalizado = ACENTOS.matcher(Normalizer.normalize(texto.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+				.replaceAll("");
+		return Arrays.stream(SEPARADORES.split(normalizado))
+				.filter(palavra -> !palavra.isEmpty())
+				.distinct()
+				.collect(Collectors.toList());
+	}
+}
@@ -42,7 +42,9 @@ public class UsuarioServiceImpl implements UsuarioService{
 	@Transactional
 	public Usuario salvarUsuario(Usuario usuario) {	
 		validarEmail(usuario.getEmail());
-		return repository.save(usuario);
+		Usuario salvo = repository.save(usuario);
+		repository.removerDoCache(salvo);
+		return salvo;
 	}
 
 	@Override
@@ -59,4 +61,13 @@ public class UsuarioServiceImpl implements UsuarioService{
 	public Optional<Usuario> obterPorId(Long id) {
 		return repository.findById(id);
 	}
+
+	@Override
+	public Optional<Usuario> obterReferencia(Long id) {
+		// A existência vem do cache de segundo nível; o que se devolve é só uma referência.
+		if (id == null || !repository.findById(id).isPresent()) {
+			return Optional.empty();
+		}
+		return Optional.of(repository.getOne(id));
+	}
 }
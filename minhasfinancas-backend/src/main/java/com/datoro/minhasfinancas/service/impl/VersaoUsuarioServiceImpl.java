@@ -0,0 +1,67 @@
+package com.datoro.minhasfinancas.service.impl;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.datoro.minhasfinancas.model.repository.GrupoLancamento;
+import com.datoro.minhasfinancas.model.repository.VersaoUsuarioRepository;
+import com.datoro.minhasfinancas.service.VersaoUsuarioService;
+import com.datoro.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.datoro.minhasfinancas.service.event.LancamentosIncluidosEvent;
+import com.datoro.minhasfinancas.service.event.MovimentoLancamento;
+import com.datoro.minhasfinancas.service.event.StatusLancamentosAlteradosEvent;
+
+/**
+ * Mantém a versão dos dados de cada usuário. O incremento roda na transação da
+ * escrita, então a nova versão fica visível junto com os lançamentos alterados.
+ */
+@Service
+public class VersaoUsuarioServiceImpl implements VersaoUsuarioService {
+
+	private VersaoUsuarioRepository repository;
+
+	public VersaoUsuarioServiceImpl(VersaoUsuarioRepository repository) {
+		this.repository = repository;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long obterVersao(Long idUsuario) {
+		return repository.obterVersao(idUsuario).orElse(0L);
+	}
+
+	@Override
+	@Transactional
+	public void incrementar(Long idUsuario) {
+		if (idUsuario == null) {
+			return;
+		}
+		// Upsert: a primeira escrita de um usuário não corre contra outra criando o mesmo registro.
+		repository.incrementar(idUsuario);
+	}
+
+	@Override
+	@EventListener
+	public void aoAlterarLancamento(LancamentoAlteradoEvent evento) {
+		Long anterior = evento.getAnterior() != null ? evento.getAnterior().getIdUsuario() : null;
+		Long atual = evento.getAtual() != null ? evento.getAtual().getIdUsuario() : null;
+
+		incrementar(anterior);
+		if (atual != null && !atual.equals(anterior)) {
+			incrementar(atual);
+		}
+	}
+
+	@Override
+	@EventListener
+	public void aoIncluirLancamentos(LancamentosIncluidosEvent evento) {
+		evento.getMovimentos().stream().map(MovimentoLancamento::getIdUsuario).distinct().forEach(this::incrementar);
+	}
+
+	@Override
+	@EventListener
+	public void aoAlterarStatus(StatusLancamentosAlteradosEvent evento) {
+		evento.getGrupos().stream().map(GrupoLancamento::getIdUsuario).distinct().forEach(this::incrementar);
+	}
+}
@@ -0,0 +1,30 @@
+-- Tabelas principais. IF NOT EXISTS permite aplicar a migração sobre bancos criados à mão
+-- (baseline-on-migrate com baseline-version 0).
+
+create schema if not exists financas;
+
+create table if not exists financas.usuario (
+	id bigint not null,
+	nome varchar(150),
+	email varchar(100),
+	senha varchar(255),
+	constraint pk_usuario primary key (id)
+);
+
+create table if not exists financas.lancamento (
+	id bigint not null,
+	descricao varchar(255),
+	mes integer,
+	ano integer,
+	valor numeric(16, 2),
+	id_usuario bigint,
+	data_cadastro timestamp,
+	tipo varchar(20),
+	status varchar(20),
+	constraint pk_lancamento primary key (id),
+	constraint fk_lancamento_usuario foreign key (id_usuario) references financas.usuario (id)
+);
+
+-- Incremento igual ao allocationSize das entidades (otimizador pooled do Hibernate).
+create sequence if not exists financas.usuario_seq start with 1 increment by 50;
+create sequence if not exists financas.lancamento_seq start with 1 increment by 50;
@@ -0,0 +1,10 @@
+-- Buscas e páginas filtram por usuário, ano e mês e ordenam por (ano, mes, id): o índice atende
+-- o filtro e a ordenação do cursor sem sort.
+create index if not exists ix_lancamento_usuario_periodo on financas.lancamento (id_usuario, ano, mes, id);
+
+-- Totais do saldo agrupam por tipo e status do usuário. Com valor na chave o índice cobre a
+-- consulta inteira (INCLUDE não existe no H2).
+create index if not exists ix_lancamento_usuario_tipo_status on financas.lancamento (id_usuario, tipo, status, valor);
+
+-- Autenticação e validação de cadastro procuram por email.
+create unique index if not exists ux_usuario_email on financas.usuario (email);
@@ -0,0 +1,36 @@
+-- Tabelas derivadas mantidas pelos serviços de saldo e de resumo mensal. Ficam sem chave
+-- estrangeira: o usuário já é garantido em lancamento e os recálculos reconstroem as linhas.
+
+create table if not exists financas.saldo_usuario (
+	id_usuario bigint not null,
+	saldo numeric(16, 2) not null,
+	constraint pk_saldo_usuario primary key (id_usuario)
+);
+
+create table if not exists financas.resumo_mensal (
+	id_usuario bigint not null,
+	ano integer not null,
+	mes integer not null,
+	tipo varchar(20) not null,
+	status varchar(20) not null,
+	total numeric(16, 2) not null,
+	quantidade bigint not null,
+	constraint pk_resumo_mensal primary key (id_usuario, ano, mes, tipo, status)
+);
+
+-- Carga inicial a partir dos lançamentos existentes; usuários que já têm linha são mantidos.
+insert into financas.saldo_usuario (id_usuario, saldo)
+select l.id_usuario, sum(case when l.tipo = 'DESPESA' then -l.valor else l.valor end)
+  from financas.lancamento l
+ where l.status = 'EFETIVADO'
+   and l.id_usuario is not null and l.tipo is not null and l.valor is not null
+   and not exists (select 1 from financas.saldo_usuario s where s.id_usuario = l.id_usuario)
+ group by l.id_usuario;
+
+insert into financas.resumo_mensal (id_usuario, ano, mes, tipo, status, total, quantidade)
+select l.id_usuario, l.ano, l.mes, l.tipo, l.status, sum(l.valor), count(*)
+  from financas.lancamento l
+ where l.id_usuario is not null
+   and l.ano is not null and l.mes is not null and l.tipo is not null and l.status is not null
+   and not exists (select 1 from financas.resumo_mensal r where r.id_usuario = l.id_usuario)
+ group by l.id_usuario, l.ano, l.mes, l.tipo, l.status;
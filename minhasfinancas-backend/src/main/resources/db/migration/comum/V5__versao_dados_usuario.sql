@@ -0,0 +1,8 @@
+-- Versão dos dados de cada usuário, incrementada a cada escrita de lançamento e usada nas ETags.
+-- Usuário sem linha está na versão 0. Fica sem chave estrangeira, como as demais tabelas derivadas.
+
+create table if not exists financas.versao_usuario (
+	id_usuario bigint not null,
+	versao bigint not null,
+	constraint pk_versao_usuario primary key (id_usuario)
+);
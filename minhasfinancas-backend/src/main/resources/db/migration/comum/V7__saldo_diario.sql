@@ -0,0 +1,16 @@
+-- Saldo realizado de cada usuário ao fim de cada dia em que ele mudou. O saldo em uma data é o da
+-- última linha até ela. A linha do dia é gravada na mesma transação da escrita de lançamento; um job
+-- diário corrige as que divergirem de saldo_usuario. Sem chave estrangeira, como as demais derivadas.
+
+create table if not exists financas.saldo_diario (
+	id_usuario bigint not null,
+	data date not null,
+	saldo numeric(16, 2) not null,
+	constraint pk_saldo_diario primary key (id_usuario, data)
+);
+
+-- Ponto de partida: o saldo atual vale a partir de hoje. Não há histórico anterior à migração.
+insert into financas.saldo_diario (id_usuario, data, saldo)
+select s.id_usuario, current_date, s.saldo
+  from financas.saldo_usuario s
+ where not exists (select 1 from financas.saldo_diario d where d.id_usuario = s.id_usuario);
@@ -0,0 +1,3 @@
+-- Mesmo ajuste da versão PostgreSQL, na sintaxe do H2.
+alter sequence financas.usuario_seq restart with (select coalesce(max(id), 0) + 1 from financas.usuario);
+alter sequence financas.lancamento_seq restart with (select coalesce(max(id), 0) + 1 from financas.lancamento);
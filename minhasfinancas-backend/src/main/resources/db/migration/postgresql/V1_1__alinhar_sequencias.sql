@@ -0,0 +1,3 @@
+-- Bancos anteriores às sequências usavam IDENTITY; a próxima faixa tem de começar depois do maior id.
+select setval('financas.usuario_seq', coalesce((select max(id) from financas.usuario), 0) + 1, false);
+select setval('financas.lancamento_seq', coalesce((select max(id) from financas.lancamento), 0) + 1, false);
@@ -0,0 +1,84 @@
+-- Particionamento declarativo de lancamento por ano (PostgreSQL 11 ou superior).
+--
+-- Consultas com ano = ? ou ano >= ? leem só as partições do intervalo. A chave primária passa a
+-- ser (id, ano), porque o PostgreSQL exige a chave de partição em todo índice único; o id
+-- continua único pela sequência. A cópia roda na transação da migração e bloqueia a tabela
+-- até o fim.
+
+-- Cria, se ainda não existir, a partição de um ano. Linhas do ano que tenham caído na
+-- partição padrão são movidas antes do ATTACH, que de outra forma falharia.
+create or replace function financas.criar_particao_lancamento(p_ano integer) returns text
+language plpgsql as $$
+declare
+	v_particao text := 'lancamento_' || p_ano;
+begin
+	if to_regclass('financas.' || v_particao) is not null then
+		return v_particao;
+	end if;
+
+	execute format('create table financas.%I (like financas.lancamento including defaults including constraints)',
+			v_particao);
+	execute format('insert into financas.%I select * from financas.lancamento_outros where ano = %s', v_particao, p_ano);
+	delete from financas.lancamento_outros where ano = p_ano;
+	execute format('alter table financas.lancamento attach partition financas.%I for values from (%s) to (%s)',
+			v_particao, p_ano, p_ano + 1);
+	return v_particao;
+end;
+$$;
+
+-- Retira a partição de um ano da tabela sem apagá-la, para arquivamento (pg_dump e drop).
+-- saldo_usuario e resumo_mensal continuam contando o ano retirado; um recálculo o descartaria.
+create or replace function financas.desanexar_particao_lancamento(p_ano integer) returns text
+language plpgsql as $$
+declare
+	v_particao text := 'lancamento_' || p_ano;
+begin
+	execute format('alter table financas.lancamento detach partition financas.%I', v_particao);
+	return v_particao;
+end;
+$$;
+
+alter table financas.lancamento rename to lancamento_legado;
+
+-- ano entra na chave primária e não aceita nulo: lançamentos antigos sem ano fazem a migração falhar.
+create table financas.lancamento (
+	id bigint not null,
+	descricao varchar(255),
+	mes integer,
+	ano integer not null,
+	valor numeric(16, 2),
+	id_usuario bigint,
+	data_cadastro timestamp,
+	tipo varchar(20),
+	status varchar(20),
+	constraint pk_lancamento_ano primary key (id, ano)
+) partition by range (ano);
+
+create table financas.lancamento_outros partition of financas.lancamento default;
+
+do $$
+declare
+	v_ano integer;
+begin
+	for v_ano in
+		select distinct ano from financas.lancamento_legado where ano is not null
+		union select extract(year from current_date)::integer
+		union select extract(year from current_date)::integer + 1
+	loop
+		perform financas.criar_particao_lancamento(v_ano);
+	end loop;
+end;
+$$;
+
+insert into financas.lancamento (id, descricao, mes, ano, valor, id_usuario, data_cadastro, tipo, status)
+select id, descricao, mes, ano, valor, id_usuario, data_cadastro, tipo, status
+  from financas.lancamento_legado;
+
+drop table financas.lancamento_legado;
+
+-- Criados no pai depois da cópia, os índices e a chave estrangeira se propagam a cada partição,
+-- inclusive às criadas depois.
+alter table financas.lancamento
+	add constraint fk_lancamento_usuario foreign key (id_usuario) references financas.usuario (id);
+create index ix_lancamento_usuario_periodo on financas.lancamento (id_usuario, ano, mes, id);
+create index ix_lancamento_usuario_tipo_status on financas.lancamento (id_usuario, tipo, status, valor);
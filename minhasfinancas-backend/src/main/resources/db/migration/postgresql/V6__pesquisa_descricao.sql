@@ -0,0 +1,16 @@
+-- Índice de trigramas para a pesquisa de lançamentos por descrição (pg_trgm e unaccent).
+--
+-- A pesquisa compara a descrição em minúsculas e sem acentos. unaccent() não é IMMUTABLE por
+-- depender do dicionário configurado; a função abaixo fixa o dicionário e pode ser indexada.
+-- Como o índice é criado no pai particionado, cada partição recebe o seu, inclusive as futuras.
+
+create extension if not exists pg_trgm with schema public;
+create extension if not exists unaccent with schema public;
+
+create or replace function financas.normalizar_descricao(p_descricao text) returns text
+language sql immutable parallel safe as $$
+	select lower(public.unaccent('public.unaccent'::regdictionary, p_descricao))
+$$;
+
+create index ix_lancamento_descricao_trigramas on financas.lancamento
+	using gin (financas.normalizar_descricao(descricao) public.gin_trgm_ops);
@@ -0,0 +1,54 @@
+package com.datoro.minhasfinancas.api.resource;
+
+import java.util.Collections;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.datoro.minhasfinancas.service.CacheService;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = CacheResource.class)
+@AutoConfigureMockMvc
+public class CacheResourceTest {
+
+	static final String API = "/api/cache";
+	static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+	@Autowired
+	MockMvc mvc;
+
+	@MockBean
+	CacheService cacheService;
+
+	@Test
+	public void deveRetornarAsEstatisticasDasRegioes() throws Exception {
+
+		// Cenario
+		CacheRegionStatistics usuario = Mockito.mock(CacheRegionStatistics.class);
+		Mockito.when(usuario.getHitCount()).thenReturn(10L);
+		Mockito.when(usuario.getMissCount()).thenReturn(2L);
+		Mockito.when(usuario.getPutCount()).thenReturn(2L);
+		Mockito.when(cacheService.obterEstatisticas()).thenReturn(Collections.singletonMap("usuario", usuario));
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/estatisticas")).accept(JSON))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("[0].regiao").value("usuario"))
+				.andExpect(MockMvcResultMatchers.jsonPath("[0].acertos").value(10))
+				.andExpect(MockMvcResultMatchers.jsonPath("[0].falhas").value(2));
+	}
+}
@@ -0,0 +1,174 @@
+package com.datoro.minhasfinancas.api.resource;
+
+import java.math.BigDecimal;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.datoro.minhasfinancas.config.ConsultasSql;
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.service.LancamentoService;
+import com.datoro.minhasfinancas.service.UsuarioService;
+
+/**
+ * Orçamento de instruções SQL dos endpoints, medido contra o banco H2 real.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class LancamentoResourceConsultasTest {
+
+	static final String API = "/api/lancamentos";
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	// Teste 01 - Atualizar o status de um lançamento cabe em um número fixo de instruções.
+	@Test
+	public void deveAtualizarStatusDentroDoOrcamentoDeConsultas() throws Exception {
+		Lancamento lancamento = criarLancamento("consultas1@email.com");
+		// As linhas do saldo e do resumo de cada status passam a existir.
+		mvc.perform(atualizarStatus(lancamento, "EFETIVADO")).andExpect(MockMvcResultMatchers.status().isOk());
+		mvc.perform(atualizarStatus(lancamento, "PENDENTE")).andExpect(MockMvcResultMatchers.status().isOk());
+
+		// SELECT ... FOR UPDATE do lançamento, dois UPDATEs no resumo mensal, um no saldo, um no saldo
+		// do dia, um na versão do usuário e o do lançamento.
+		mvc.perform(atualizarStatus(lancamento, "EFETIVADO"))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(ConsultasSql.executou(7));
+	}
+
+	// Teste 02 - A resposta informa as consultas no cabeçalho Server-Timing.
+	@Test
+	public void deveInformarAsConsultasNoServerTiming() throws Exception {
+		Lancamento lancamento = criarLancamento("consultas2@email.com");
+
+		MvcResult resultado = mvc.perform(MockMvcRequestBuilders.get(API).param("usuario",
+				lancamento.getUsuario().getId().toString()))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.header().string("Server-Timing",
+						Matchers.matchesPattern("db;dur=\\d+\\.\\d{2};desc=\"\\d+ consultas\"")))
+				.andReturn();
+
+		ConsultasSql.executouNoMaximo(2).match(resultado);
+	}
+
+	// Teste 03 - A mesma consulta sai do cache até o próximo commit de um lançamento do usuário.
+	@Test
+	public void deveConsultarDoCacheAteAProximaAlteracao() throws Exception {
+		Lancamento lancamento = criarLancamento("consultas3@email.com");
+		MockHttpServletRequestBuilder consulta = MockMvcRequestBuilders.get(API).param("usuario",
+				lancamento.getUsuario().getId().toString()).param("ano", "2020");
+		MvcResult primeira = mvc.perform(consulta).andReturn();
+
+		MvcResult segunda = mvc.perform(consulta)
+				.andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value("PENDENTE"))
+				.andReturn();
+		mvc.perform(atualizarStatus(lancamento, "EFETIVADO")).andExpect(MockMvcResultMatchers.status().isOk());
+		mvc.perform(consulta).andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value("EFETIVADO"));
+
+		ConsultasSql.executou(ConsultasSql.resumo(primeira).getConsultas() - 1).match(segunda);
+	}
+
+	// Teste 04 - Com a ETag atual, a busca responde 304 lendo apenas a versão do usuário.
+	@Test
+	public void deveResponderNaoModificadoNaBuscaComAETagAtual() throws Exception {
+		Lancamento lancamento = criarLancamento("consultas4@email.com");
+		MockHttpServletRequestBuilder consulta = MockMvcRequestBuilders.get(API).param("usuario",
+				lancamento.getUsuario().getId().toString());
+		String etag = mvc.perform(consulta).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mvc.perform(consulta.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(MockMvcResultMatchers.status().isNotModified())
+				.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, etag))
+				.andExpect(ConsultasSql.executou(1));
+	}
+
+	// Teste 05 - Uma escrita do usuário muda a ETag e a requisição condicional volta a receber os dados.
+	@Test
+	public void deveMudarAETagDepoisDeUmaEscrita() throws Exception {
+		Lancamento lancamento = criarLancamento("consultas5@email.com");
+		MockHttpServletRequestBuilder consulta = MockMvcRequestBuilders.get(API + "/" + lancamento.getId());
+		String etag = mvc.perform(consulta).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mvc.perform(consulta.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(MockMvcResultMatchers.status().isNotModified())
+				.andExpect(ConsultasSql.executou(1));
+
+		mvc.perform(atualizarStatus(lancamento, "EFETIVADO")).andExpect(MockMvcResultMatchers.status().isOk());
+
+		mvc.perform(consulta.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, Matchers.not(etag)))
+				.andExpect(MockMvcResultMatchers.jsonPath("status").value("EFETIVADO"));
+	}
+
+	// Teste 06 - O saldo também é respondido com 304 enquanto a versão do usuário não muda.
+	@Test
+	public void deveResponderNaoModificadoNoSaldoComAETagAtual() throws Exception {
+		Lancamento lancamento = criarLancamento("consultas6@email.com");
+		MockHttpServletRequestBuilder saldo = MockMvcRequestBuilders.get("/api/usuarios/"
+				+ lancamento.getUsuario().getId() + "/saldo");
+		String etag = mvc.perform(saldo).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		// If-None-Match usa a comparação fraca: a forma sem W/ também corresponde.
+		mvc.perform(saldo.header(HttpHeaders.IF_NONE_MATCH, etag.substring(2)))
+				.andExpect(MockMvcResultMatchers.status().isNotModified())
+				.andExpect(ConsultasSql.executou(1));
+	}
+
+	// Teste 07 - Os totais da lista completa saem do próprio resultado; os da página, de um único agregado.
+	@Test
+	public void deveIncluirOsTotaisSemVarrerDeNovo() throws Exception {
+		Lancamento lancamento = criarLancamento("consultas7@email.com");
+		String usuario = lancamento.getUsuario().getId().toString();
+
+		mvc.perform(MockMvcRequestBuilders.get(API).param("usuario", usuario).param("totais", "true"))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("itens.length()").value(1))
+				.andExpect(MockMvcResultMatchers.jsonPath("quantidadeTotal").value(1))
+				.andExpect(MockMvcResultMatchers.jsonPath("totais.receitas").value(10))
+				.andExpect(ConsultasSql.executou(2));
+
+		// Versão do usuário, página e agregado por tipo.
+		mvc.perform(MockMvcRequestBuilders.get(API).param("usuario", usuario).param("tamanho", "1").param("totais", "true"))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("quantidadeTotal").value(1))
+				.andExpect(MockMvcResultMatchers.jsonPath("totais.saldo").value(10))
+				.andExpect(ConsultasSql.executou(3));
+		mvc.perform(MockMvcRequestBuilders.get(API).param("usuario", usuario).param("tamanho", "1"))
+				.andExpect(MockMvcResultMatchers.jsonPath("quantidadeTotal").doesNotExist());
+	}
+
+	private MockHttpServletRequestBuilder atualizarStatus(Lancamento lancamento, String status) {
+		return MockMvcRequestBuilders.put(API + "/" + lancamento.getId() + "/atualiza-status")
+				.contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"" + status + "\"}");
+	}
+
+	private Lancamento criarLancamento(String email) {
+		Usuario usuario = usuarioService.salvarUsuario(Usuario.builder().nome("usuario").email(email).senha("senha").build());
+		return lancamentoService.salvar(Lancamento.builder().descricao("lancamento").mes(1).ano(2020)
+				.valor(BigDecimal.TEN).tipo(TipoLancamento.RECEITA).usuario(usuario).build());
+	}
+}
@@ -0,0 +1,360 @@
+package com.datoro.minhasfinancas.api.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.datoro.minhasfinancas.api.dto.AtualizaStatusLoteDTO;
+import com.datoro.minhasfinancas.api.dto.LancamentoDTO;
+import com.datoro.minhasfinancas.exception.RegraNegocioException;
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.repository.FiltroLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
+import com.datoro.minhasfinancas.model.repository.VersaoDoDono;
+import com.datoro.minhasfinancas.model.resultado.LancamentoVersionado;
+import com.datoro.minhasfinancas.model.resultado.PaginaLancamentos;
+import com.datoro.minhasfinancas.service.LancamentoService;
+import com.datoro.minhasfinancas.service.PesquisaLancamentoService;
+import com.datoro.minhasfinancas.service.UsuarioService;
+import com.datoro.minhasfinancas.service.VersaoUsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = LancamentoResource.class)
+@AutoConfigureMockMvc
+@Import({ UsuariosDaRequisicao.class, EtagsUsuario.class })
+@SuppressWarnings("unchecked")
+public class LancamentoResourceTest {
+
+	static final String API = "/api/lancamentos";
+	static final MediaType JSON = MediaType.APPLICATION_JSON;
+
+	@Autowired
+	MockMvc mvc;
+
+	@MockBean
+	LancamentoService lancamentoService;
+
+	@MockBean
+	UsuarioService usuarioService;
+
+	@MockBean
+	VersaoUsuarioService versaoService;
+
+	@MockBean
+	PesquisaLancamentoService pesquisaService;
+
+	@Test
+	public void deveRetornarUmaPaginaQuandoInformadoOTamanho() throws Exception {
+
+		// Cenario
+		Usuario usuario = Usuario.builder().id(1L).build();
+		LancamentoProjecao lancamento = criarProjecao();
+		PaginaLancamentos pagina = PaginaLancamentos.builder().itens(Arrays.asList(lancamento))
+				.proximoCursor("cursor").temMais(true).build();
+
+		Mockito.when(usuarioService.obterReferencia(1L)).thenReturn(Optional.of(usuario));
+		Mockito.when(lancamentoService.buscarPagina(Mockito.any(FiltroLancamento.class), Mockito.isNull(), Mockito.eq(1),
+				Mockito.eq(false)))
+				.thenReturn(pagina);
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.get(API).param("usuario", "1").param("tamanho", "1").accept(JSON))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("itens[0].id").value(lancamento.getId()))
+				.andExpect(MockMvcResultMatchers.jsonPath("itens[0].usuario").value(1))
+				.andExpect(MockMvcResultMatchers.jsonPath("proximoCursor").value("cursor"))
+				.andExpect(MockMvcResultMatchers.jsonPath("temMais").value(true));
+	}
+
+	@Test
+	public void deveConverterFaixasListasEOrdenacaoNoFiltro() throws Exception {
+
+		// Cenario
+		Mockito.when(usuarioService.obterReferencia(1L)).thenReturn(Optional.of(Usuario.builder().id(1L).build()));
+		Mockito.when(lancamentoService.buscar(Mockito.any(FiltroLancamento.class), Mockito.anyLong()))
+				.thenReturn(Arrays.asList(criarProjecao()));
+
+		// Execução
+		mvc.perform(MockMvcRequestBuilders.get(API).param("usuario", "1")
+				.param("periodoInicial", "2020-02").param("periodoFinal", "2020-08")
+				.param("valorMinimo", "10.5").param("cadastroInicial", "2020-01-15")
+				.param("tipo", "RECEITA", "DESPESA").param("status", "PENDENTE")
+				.param("ordem", "-valor,ano").accept(JSON))
+				.andExpect(MockMvcResultMatchers.status().isOk());
+
+		// Verificação
+		ArgumentCaptor<FiltroLancamento> filtro = ArgumentCaptor.forClass(FiltroLancamento.class);
+		Mockito.verify(lancamentoService).buscar(filtro.capture(), Mockito.anyLong());
+		assertThat(filtro.getValue().getIdUsuario()).isEqualTo(1L);
+		assertThat(filtro.getValue().getPeriodoInicial()).isEqualTo(YearMonth.of(2020, 2));
+		assertThat(filtro.getValue().getPeriodoFinal()).isEqualTo(YearMonth.of(2020, 8));
+		assertThat(filtro.getValue().getValorMinimo()).isEqualByComparingTo("10.5");
+		assertThat(filtro.getValue().getCadastroInicial()).isEqualTo(LocalDate.of(2020, 1, 15));
+		assertThat(filtro.getValue().getTipos()).containsExactlyInAnyOrder(TipoLancamento.RECEITA, TipoLancamento.DESPESA);
+		assertThat(filtro.getValue().getStatus()).containsExactly(StatusLancamento.PENDENTE);
+		assertThat(filtro.getValue().getOrdenacao())
+				.containsExactly(Sort.Order.desc("valor"), Sort.Order.asc("ano"), Sort.Order.asc("id"));
+	}
+
+	@Test
+	public void naoDeveBuscarComCampoDeOrdenacaoInvalido() throws Exception {
+
+		// Cenario
+		Mockito.when(usuarioService.obterReferencia(1L)).thenReturn(Optional.of(Usuario.builder().id(1L).build()));
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.get(API).param("usuario", "1").param("ordem", "senha").accept(JSON))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+		Mockito.verifyNoInteractions(lancamentoService);
+	}
+
+	@Test
+	public void devePesquisarPelaDescricaoComLimitePadrao() throws Exception {
+
+		// Cenario
+		Usuario usuario = Usuario.builder().id(1L).build();
+		LancamentoProjecao lancamento = criarProjecao();
+
+		Mockito.when(usuarioService.obterReferencia(1L)).thenReturn(Optional.of(usuario));
+		Mockito.when(pesquisaService.pesquisar(1L, "merc", LancamentoResource.LIMITE_PADRAO_PESQUISA))
+				.thenReturn(Arrays.asList(lancamento));
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/pesquisa")).param("usuario", "1").param("texto", "merc")
+				.accept(JSON))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("[0].id").value(lancamento.getId()));
+	}
+
+	@Test
+	public void deveRetornarBadRequestAoPesquisarComUsuarioInexistente() throws Exception {
+
+		// Cenario
+		Mockito.when(usuarioService.obterReferencia(1L)).thenReturn(Optional.empty());
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/pesquisa")).param("usuario", "1").param("texto", "merc"))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+		Mockito.verifyNoInteractions(pesquisaService);
+	}
+
+	@Test
+	public void deveExportarLancamentosEmCsv() throws Exception {
+
+		// Cenario
+		Usuario usuario = Usuario.builder().id(1L).build();
+		LancamentoProjecao lancamento = criarProjecao();
+
+		Mockito.when(usuarioService.obterReferencia(1L)).thenReturn(Optional.of(usuario));
+		Mockito.doAnswer(invocacao -> {
+			invocacao.getArgument(1, Consumer.class).accept(lancamento);
+			return null;
+		}).when(lancamentoService).exportar(Mockito.any(FiltroLancamento.class), Mockito.any(Consumer.class));
+
+		// Execução e verificação
+		MvcResult resultado = mvc.perform(MockMvcRequestBuilders.get(API.concat("/export")).param("usuario", "1"))
+				.andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.content().contentType(LancamentoResource.TEXT_CSV))
+				.andExpect(MockMvcResultMatchers.content().string("id;descricao;mes;ano;valor;usuario;tipo;status\n"
+						+ "1;\"Salário; agosto\";8;2020;10;1;RECEITA;PENDENTE\n"));
+	}
+
+	@Test
+	public void deveRetornarBadRequestAoExportarEmFormatoInvalido() throws Exception {
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/export")).param("usuario", "1").param("formato", "xml"))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+
+	@Test
+	public void deveRetornarOsErrosPorLinhaDoLote() throws Exception {
+
+		// Cenario
+		Usuario usuario = Usuario.builder().id(1L).build();
+		LancamentoDTO valido = LancamentoDTO.builder().descricao("Salário").mes(8).ano(2020).valor(BigDecimal.TEN)
+				.usuario(1L).tipo("RECEITA").build();
+		LancamentoDTO tipoInvalido = LancamentoDTO.builder().descricao("Aluguel").mes(8).ano(2020)
+				.valor(BigDecimal.TEN).usuario(1L).tipo("OUTRO").build();
+		LancamentoDTO usuarioInexistente = LancamentoDTO.builder().descricao("Luz").mes(8).ano(2020)
+				.valor(BigDecimal.TEN).usuario(2L).tipo("DESPESA").build();
+
+		Mockito.when(usuarioService.obterReferencia(1L)).thenReturn(Optional.of(usuario));
+		Mockito.when(usuarioService.obterReferencia(2L)).thenReturn(Optional.empty());
+
+		String json = new ObjectMapper().writeValueAsString(Arrays.asList(valido, tipoInvalido, usuarioInexistente, valido));
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.post(API.concat("/lote")).accept(JSON).contentType(JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest())
+				.andExpect(MockMvcResultMatchers.jsonPath("inseridos").value(0))
+				.andExpect(MockMvcResultMatchers.jsonPath("erros[0].indice").value(1))
+				.andExpect(MockMvcResultMatchers.jsonPath("erros[1].indice").value(2));
+
+		Mockito.verify(usuarioService, Mockito.times(1)).obterReferencia(1L);
+		Mockito.verify(lancamentoService, Mockito.never()).salvarLote(Mockito.anyList());
+	}
+
+	@Test
+	public void deveAtualizarOStatusDosLancamentosDoMes() throws Exception {
+
+		// Cenario
+		AtualizaStatusLoteDTO dto = AtualizaStatusLoteDTO.builder().usuario(1L).ano(2020).mes(8)
+				.statusAtual("PENDENTE").status("EFETIVADO").build();
+		Mockito.when(lancamentoService.atualizarStatusPorFiltro(Mockito.any(Lancamento.class),
+				Mockito.eq(StatusLancamento.EFETIVADO))).thenReturn(5);
+
+		String json = new ObjectMapper().writeValueAsString(dto);
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/atualiza-status")).accept(JSON).contentType(JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("atualizados").value(5));
+	}
+
+	@Test
+	public void deveAtualizarOStatusPorIdsDoUsuario() throws Exception {
+
+		// Cenario
+		AtualizaStatusLoteDTO dto = AtualizaStatusLoteDTO.builder().usuario(1L).ids(Arrays.asList(1L, 2L))
+				.status("EFETIVADO").build();
+		Mockito.when(lancamentoService.atualizarStatusPorIds(1L, Arrays.asList(1L, 2L), StatusLancamento.EFETIVADO))
+				.thenReturn(1);
+
+		String json = new ObjectMapper().writeValueAsString(dto);
+
+		// Execução e verificação: só os lançamentos do usuário informado são alterados.
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/atualiza-status")).accept(JSON).contentType(JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("atualizados").value(1));
+	}
+
+	@Test
+	public void deveAtualizarSemConsultarOUsuario() throws Exception {
+
+		// Cenario
+		LancamentoDTO dto = LancamentoDTO.builder().descricao("Salário").mes(8).ano(2020).valor(BigDecimal.TEN)
+				.usuario(1L).tipo("RECEITA").status("PENDENTE").build();
+		String json = new ObjectMapper().writeValueAsString(dto);
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/1")).accept(JSON).contentType(JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("id").value(1))
+				.andExpect(MockMvcResultMatchers.jsonPath("usuario").value(1));
+
+		Mockito.verify(lancamentoService).atualizar(Mockito.any(Lancamento.class));
+		Mockito.verifyNoInteractions(usuarioService);
+		Mockito.verify(lancamentoService, Mockito.never()).obterPorId(Mockito.anyLong());
+	}
+
+	@Test
+	public void deveRetornarBadRequestAoAtualizarLancamentoInexistente() throws Exception {
+
+		// Cenario
+		LancamentoDTO dto = LancamentoDTO.builder().descricao("Salário").mes(8).ano(2020).valor(BigDecimal.TEN)
+				.usuario(1L).tipo("RECEITA").status("PENDENTE").build();
+		String json = new ObjectMapper().writeValueAsString(dto);
+		Mockito.when(lancamentoService.atualizar(Mockito.any(Lancamento.class)))
+				.thenThrow(new RegraNegocioException("Lancamento não encontrado na base de dados."));
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/1")).accept(JSON).contentType(JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest())
+				.andExpect(MockMvcResultMatchers.content().string(Matchers.containsString("encontrado na base de dados.")));
+	}
+
+	@Test
+	public void deveAtualizarSemStatus() throws Exception {
+
+		// Cenario
+		LancamentoDTO dto = LancamentoDTO.builder().descricao("Salário").mes(8).ano(2020).valor(BigDecimal.TEN)
+				.usuario(1L).tipo("RECEITA").build();
+		String json = new ObjectMapper().writeValueAsString(dto);
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/1")).accept(JSON).contentType(JSON).content(json))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("tipo").value("RECEITA"))
+				.andExpect(MockMvcResultMatchers.jsonPath("status").doesNotExist());
+	}
+
+	@Test
+	public void deveRetornarNaoModificadoComAEtagAtualDoDono() throws Exception {
+
+		// Cenario
+		VersaoDoDono dono = versaoDoDono(1L, 5L);
+		Mockito.when(lancamentoService.obterVersaoDoDono(1L)).thenReturn(Optional.of(dono));
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/1")).header(HttpHeaders.IF_NONE_MATCH, "W/\"1.5\""))
+				.andExpect(MockMvcResultMatchers.status().isNotModified());
+		Mockito.verify(lancamentoService, Mockito.never()).obterComVersao(1L);
+	}
+
+	@Test
+	public void naoDeveValidarAEtagDeOutroUsuarioNemDeLancamentoInexistente() throws Exception {
+
+		// Cenario
+		Lancamento deOutro = Lancamento.builder().id(2L).descricao("Aluguel").mes(8).ano(2020).valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE).usuario(Usuario.builder().id(2L).build())
+				.build();
+		VersaoDoDono dono = versaoDoDono(2L, 3L);
+		Mockito.when(lancamentoService.obterVersaoDoDono(2L)).thenReturn(Optional.of(dono));
+		Mockito.when(lancamentoService.obterComVersao(2L)).thenReturn(Optional.of(new LancamentoVersionado(deOutro, 3L)));
+		Mockito.when(lancamentoService.obterVersaoDoDono(3L)).thenReturn(Optional.empty());
+
+		// Execução e verificação: a ETag atual do usuário 1 não vale para o lançamento do usuário 2
+		// nem para um id inexistente.
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/2")).header(HttpHeaders.IF_NONE_MATCH, "W/\"1.5\""))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "W/\"2.3\""))
+				.andExpect(MockMvcResultMatchers.jsonPath("id").value(2));
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/3")).header(HttpHeaders.IF_NONE_MATCH, "W/\"1.5\""))
+				.andExpect(MockMvcResultMatchers.status().isNotFound());
+	}
+
+	private VersaoDoDono versaoDoDono(Long idUsuario, Long versao) {
+		VersaoDoDono dono = Mockito.mock(VersaoDoDono.class);
+		Mockito.when(dono.getIdUsuario()).thenReturn(idUsuario);
+		Mockito.when(dono.getVersao()).thenReturn(versao);
+		return dono;
+	}
+
+	private LancamentoProjecao criarProjecao() {
+		return new LancamentoProjecao(1L, "Salário; agosto", 8, 2020, BigDecimal.TEN, 1L, TipoLancamento.RECEITA,
+				StatusLancamento.PENDENTE);
+	}
+}
@@ -1,5 +1,13 @@
 package com.datoro.minhasfinancas.api.resource;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -7,6 +15,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -17,15 +27,22 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import com.datoro.minhasfinancas.api.dto.UsuarioDTO;
 import com.datoro.minhasfinancas.exception.ErroAutenticacao;
 import com.datoro.minhasfinancas.exception.RegraNegocioException;
+import com.datoro.minhasfinancas.model.entity.SaldoDiario;
 import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.repository.SaldoMensal;
 import com.datoro.minhasfinancas.service.LancamentoService;
+import com.datoro.minhasfinancas.service.ResumoMensalService;
+import com.datoro.minhasfinancas.service.SaldoDiarioService;
+import com.datoro.minhasfinancas.service.SaldoService;
 import com.datoro.minhasfinancas.service.UsuarioService;
+import com.datoro.minhasfinancas.service.VersaoUsuarioService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
 @WebMvcTest(controllers = UsuarioResource.class)
 @AutoConfigureMockMvc
+@Import(EtagsUsuario.class)
 public class UsuarioResourceTest {
 
 	static final String API = "/api/usuarios";
@@ -40,6 +57,18 @@ public class UsuarioResourceTest {
 	@MockBean
 	LancamentoService lancamentoService;
 
+	@MockBean
+	SaldoService saldoService;
+
+	@MockBean
+	ResumoMensalService resumoMensalService;
+
+	@MockBean
+	SaldoDiarioService saldoDiarioService;
+
+	@MockBean
+	VersaoUsuarioService versaoService;
+
 	@Test
 	public void deveAutenticarUmUsuario() throws Exception {
 
@@ -124,4 +153,61 @@ public class UsuarioResourceTest {
 
 		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isBadRequest());   
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void deveRetornarASerieDeSaldoComoArrayCompacto() throws Exception {
+
+		// Cenario
+		Mockito.when(usuarioService.obterPorId(1L)).thenReturn(Optional.of(Usuario.builder().id(1L).build()));
+		List<SaldoMensal> serie = Arrays.asList(saldoMensal(2020, 1, BigDecimal.TEN), saldoMensal(2020, 2, BigDecimal.ONE));
+		Mockito.when(resumoMensalService.obterSerieSaldo(1L, YearMonth.of(2020, 1), YearMonth.of(2020, 2)))
+				.thenReturn(serie);
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.get(API + "/1/saldo/serie").param("de", "2020-01").param("ate", "2020-02")
+				.accept(JSON))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+				.andExpect(MockMvcResultMatchers.content().json("[[2020,1,10],[2020,2,1]]", true));
+	}
+
+	@Test
+	public void deveRetornarOSaldoEmUmaData() throws Exception {
+
+		// Cenario
+		LocalDate data = LocalDate.of(2020, 8, 10);
+		Mockito.when(usuarioService.obterPorId(1L)).thenReturn(Optional.of(Usuario.builder().id(1L).build()));
+		Mockito.when(saldoDiarioService.obterSaldoEm(1L, data))
+				.thenReturn(Optional.of(SaldoDiario.builder().idUsuario(1L).data(LocalDate.of(2020, 8, 7))
+						.saldo(BigDecimal.TEN).build()));
+
+		// Execução e verificação
+		mvc.perform(MockMvcRequestBuilders.get(API + "/1/saldo/diario").param("data", "2020-08-10").accept(JSON))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+				.andExpect(MockMvcResultMatchers.jsonPath("saldo").value(10))
+				.andExpect(MockMvcResultMatchers.jsonPath("registro").value("2020-08-07"));
+	}
+
+	@Test
+	public void deveRetornarNotFoundParaDataAnteriorAoPrimeiroRegistro() throws Exception {
+
+		// Cenario
+		LocalDate data = LocalDate.of(2019, 12, 31);
+		Mockito.when(usuarioService.obterPorId(1L)).thenReturn(Optional.of(Usuario.builder().id(1L).build()));
+		Mockito.when(saldoDiarioService.obterSaldoEm(1L, data)).thenReturn(Optional.empty());
+
+		// Execução e verificação: sem registro até a data, o saldo é desconhecido, e não zero.
+		mvc.perform(MockMvcRequestBuilders.get(API + "/1/saldo/diario").param("data", "2019-12-31").accept(JSON))
+				.andExpect(MockMvcResultMatchers.status().isNotFound())
+				.andExpect(MockMvcResultMatchers.content().string(Matchers.containsString("saldo registrado para o")));
+	}
+
+	private SaldoMensal saldoMensal(int ano, int mes, BigDecimal saldo) {
+		SaldoMensal saldoMensal = Mockito.mock(SaldoMensal.class);
+		Mockito.when(saldoMensal.getAno()).thenReturn(ano);
+		Mockito.when(saldoMensal.getMes()).thenReturn(mes);
+		Mockito.when(saldoMensal.getSaldo()).thenReturn(saldo);
+		return saldoMensal;
+	}
+}
@@ -0,0 +1,251 @@
+package com.datoro.minhasfinancas.carga;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.datoro.minhasfinancas.MinhasfinancasApplication;
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.service.LancamentoService;
+import com.datoro.minhasfinancas.service.UsuarioService;
+
+/**
+ * Sobe a aplicação no perfil test, carrega usuários e lançamentos e dispara uma
+ * mistura de requisições HTTP a uma taxa fixa, relatando vazão e latências
+ * p50/p99/p999 por operação.
+ *
+ * <p>A latência é medida a partir do instante em que cada requisição deveria ter
+ * saído, não de quando saiu: se o servidor atrasa, a fila entra na medida em vez
+ * de desaparecer dela (omissão coordenada).
+ *
+ * <p>Parâmetros por propriedade de sistema: {@code carga.usuarios},
+ * {@code carga.lancamentos} (por usuário), {@code carga.taxa} (requisições por
+ * segundo), {@code carga.duracao} e {@code carga.aquecimento} (segundos),
+ * {@code carga.clientes} (requisições simultâneas) e {@code carga.mistura}, no
+ * formato {@code autenticar=20,buscar=50,saldo=20,status=10}.
+ */
+public class GeradorDeCarga {
+
+	private static final String SENHA = "senha";
+	private static final String[] STATUS = { "PENDENTE", "EFETIVADO", "CANCELADO" };
+
+	enum Operacao {
+		AUTENTICAR, BUSCAR, SALDO, STATUS
+	}
+
+	private final HttpClient cliente;
+	private final String base;
+	private final List<Usuario> usuarios;
+	private final List<Long> lancamentos;
+	private final Map<Operacao, Histogram> latencias = new EnumMap<>(Operacao.class);
+	private final Map<Operacao, AtomicLong> erros = new EnumMap<>(Operacao.class);
+	private final Operacao[] sorteio;
+
+	GeradorDeCarga(HttpClient cliente, String base, List<Usuario> usuarios, List<Long> lancamentos, String mistura) {
+		this.cliente = cliente;
+		this.base = base;
+		this.usuarios = usuarios;
+		this.lancamentos = lancamentos;
+		this.sorteio = criarSorteio(mistura);
+		for (Operacao operacao : Operacao.values()) {
+			latencias.put(operacao, new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3));
+			erros.put(operacao, new AtomicLong());
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		int quantidadeUsuarios = Integer.getInteger("carga.usuarios", 20);
+		int lancamentosPorUsuario = Integer.getInteger("carga.lancamentos", 1000);
+		int taxa = Integer.getInteger("carga.taxa", 200);
+		int duracao = Integer.getInteger("carga.duracao", 30);
+		int aquecimento = Integer.getInteger("carga.aquecimento", 5);
+		int clientes = Integer.getInteger("carga.clientes", 64);
+		String mistura = System.getProperty("carga.mistura", "autenticar=20,buscar=50,saldo=20,status=10");
+
+		ConfigurableApplicationContext contexto = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+				.profiles("test")
+				.run("--server.port=0", "--logging.level.root=WARN", "--spring.devtools.restart.enabled=false");
+		ExecutorService executor = Executors.newFixedThreadPool(clientes);
+		try {
+			int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+
+			List<Usuario> usuarios = new ArrayList<>();
+			List<Long> lancamentos = new ArrayList<>();
+			carregar(contexto, quantidadeUsuarios, lancamentosPorUsuario, usuarios, lancamentos);
+			System.out.printf("Carregados %d usuários e %d lançamentos.%n", usuarios.size(), lancamentos.size());
+
+			HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+			GeradorDeCarga gerador = new GeradorDeCarga(cliente, "http://localhost:" + porta, usuarios, lancamentos,
+					mistura);
+
+			gerador.executar(executor, taxa, aquecimento);
+			gerador.zerar();
+			long inicio = System.nanoTime();
+			gerador.executar(executor, taxa, duracao);
+			gerador.relatar(System.nanoTime() - inicio);
+		} finally {
+			executor.shutdownNow();
+			contexto.close();
+		}
+	}
+
+	private static void carregar(ConfigurableApplicationContext contexto, int quantidadeUsuarios,
+			int lancamentosPorUsuario, List<Usuario> usuarios, List<Long> lancamentos) {
+		UsuarioService usuarioService = contexto.getBean(UsuarioService.class);
+		LancamentoService lancamentoService = contexto.getBean(LancamentoService.class);
+
+		for (int u = 0; u < quantidadeUsuarios; u++) {
+			Usuario usuario = usuarioService.salvarUsuario(Usuario.builder().nome("Usuario " + u)
+					.email("carga" + u + "@email.com").senha(SENHA).build());
+			usuarios.add(usuario);
+
+			List<Lancamento> lote = new ArrayList<>(lancamentosPorUsuario);
+			for (int i = 0; i < lancamentosPorUsuario; i++) {
+				lote.add(Lancamento.builder().descricao("Lançamento " + i).mes(i % 12 + 1).ano(2018 + i % 3)
+						.valor(BigDecimal.valueOf(1000 + i, 2)).usuario(usuario)
+						.tipo(i % 3 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA).build());
+			}
+			lancamentoService.salvarLote(lote);
+			lote.forEach(lancamento -> lancamentos.add(lancamento.getId()));
+		}
+	}
+
+	/**
+	 * Agenda uma requisição a cada 1/taxa segundos durante {@code segundos} e
+	 * aguarda as pendentes.
+	 */
+	void executar(ExecutorService executor, int taxa, int segundos) throws InterruptedException {
+		long intervalo = TimeUnit.SECONDS.toNanos(1) / taxa;
+		long total = (long) taxa * segundos;
+		long inicio = System.nanoTime();
+		List<Future<?>> pendentes = new ArrayList<>();
+
+		for (long i = 0; i < total; i++) {
+			long previsto = inicio + i * intervalo;
+			long espera = previsto - System.nanoTime();
+			if (espera > 0) {
+				LockSupport.parkNanos(espera);
+			}
+			Operacao operacao = sorteio[ThreadLocalRandom.current().nextInt(sorteio.length)];
+			pendentes.add(executor.submit(() -> enviar(operacao, previsto)));
+		}
+
+		for (Future<?> pendente : pendentes) {
+			try {
+				pendente.get();
+			} catch (ExecutionException e) {
+				// Já contabilizado em enviar.
+			}
+		}
+	}
+
+	private void enviar(Operacao operacao, long previsto) {
+		try {
+			HttpResponse<Void> resposta = cliente.send(criarRequisicao(operacao), BodyHandlers.discarding());
+			if (resposta.statusCode() >= 400) {
+				erros.get(operacao).incrementAndGet();
+			}
+		} catch (Exception e) {
+			erros.get(operacao).incrementAndGet();
+		} finally {
+			latencias.get(operacao).recordValue(Math.min(System.nanoTime() - previsto,
+					latencias.get(operacao).getHighestTrackableValue()));
+		}
+	}
+
+	private HttpRequest criarRequisicao(Operacao operacao) {
+		ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+		Usuario usuario = usuarios.get(aleatorio.nextInt(usuarios.size()));
+
+		switch (operacao) {
+		case AUTENTICAR:
+			return json(base + "/api/usuarios/autenticar")
+					.POST(BodyPublishers.ofString("{\"email\":\"" + usuario.getEmail() + "\",\"senha\":\"" + SENHA + "\"}"))
+					.build();
+		case BUSCAR:
+			return HttpRequest.newBuilder(URI.create(base + "/api/lancamentos?usuario=" + usuario.getId() + "&ano="
+					+ (2018 + aleatorio.nextInt(3)) + "&mes=" + (1 + aleatorio.nextInt(12)))).GET().build();
+		case SALDO:
+			return HttpRequest.newBuilder(URI.create(base + "/api/usuarios/" + usuario.getId() + "/saldo")).GET().build();
+		default:
+			Long id = lancamentos.get(aleatorio.nextInt(lancamentos.size()));
+			return json(base + "/api/lancamentos/" + id + "/atualiza-status")
+					.PUT(BodyPublishers.ofString("{\"status\":\"" + STATUS[aleatorio.nextInt(STATUS.length)] + "\"}"))
+					.build();
+		}
+	}
+
+	private HttpRequest.Builder json(String url) {
+		return HttpRequest.newBuilder(URI.create(url)).header("Content-Type", "application/json");
+	}
+
+	void zerar() {
+		latencias.values().forEach(Histogram::reset);
+		erros.values().forEach(contador -> contador.set(0));
+	}
+
+	void relatar(long duracaoNanos) {
+		double segundos = duracaoNanos / 1e9;
+		Histogram geral = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+
+		System.out.printf("%n%-12s %9s %7s %10s %10s %10s %10s %10s%n", "operacao", "total", "erros", "req/s",
+				"p50 ms", "p99 ms", "p999 ms", "max ms");
+		for (Operacao operacao : Operacao.values()) {
+			Histogram histograma = latencias.get(operacao);
+			geral.add(histograma);
+			imprimir(operacao.name().toLowerCase(), histograma, erros.get(operacao).get(), segundos);
+		}
+		imprimir("geral", geral, erros.values().stream().mapToLong(AtomicLong::get).sum(), segundos);
+	}
+
+	private void imprimir(String nome, Histogram histograma, long erros, double segundos) {
+		System.out.printf("%-12s %9d %7d %10.1f %10.2f %10.2f %10.2f %10.2f%n", nome, histograma.getTotalCount(), erros,
+				histograma.getTotalCount() / segundos, milissegundos(histograma.getValueAtPercentile(50)),
+				milissegundos(histograma.getValueAtPercentile(99)), milissegundos(histograma.getValueAtPercentile(99.9)),
+				milissegundos(histograma.getMaxValue()));
+	}
+
+	private static double milissegundos(long nanos) {
+		return nanos / 1e6;
+	}
+
+	private static Operacao[] criarSorteio(String mistura) {
+		List<Operacao> sorteio = new ArrayList<>();
+		for (String parte : mistura.split(",")) {
+			String[] pesoPorOperacao = parte.trim().split("=");
+			Operacao operacao = Operacao.valueOf(pesoPorOperacao[0].trim().toUpperCase());
+			for (int i = 0; i < Integer.parseInt(pesoPorOperacao[1].trim()); i++) {
+				sorteio.add(operacao);
+			}
+		}
+		if (sorteio.isEmpty()) {
+			throw new IllegalArgumentException("Mistura de operações vazia: " + mistura);
+		}
+		return sorteio.toArray(new Operacao[0]);
+	}
+}
@@ -0,0 +1,35 @@
+package com.datoro.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Verificações do MockMvc sobre as instruções SQL que o {@link ConsultasSqlFilter}
+ * contou na requisição. Exige o contexto completo, com o DataSource real.
+ */
+public final class ConsultasSql {
+
+	private ConsultasSql() {
+	}
+
+	public static ResultMatcher executou(int esperado) {
+		return resultado -> assertThat(resumo(resultado).getConsultas())
+				.as("instruções SQL da requisição (mais repetida: %s)", resumo(resultado).getMaisRepetida())
+				.isEqualTo(esperado);
+	}
+
+	public static ResultMatcher executouNoMaximo(int maximo) {
+		return resultado -> assertThat(resumo(resultado).getConsultas())
+				.as("instruções SQL da requisição (mais repetida: %s)", resumo(resultado).getMaisRepetida())
+				.isLessThanOrEqualTo(maximo);
+	}
+
+	public static ContadorConsultas.Resumo resumo(MvcResult resultado) {
+		ContadorConsultas.Resumo resumo = (ContadorConsultas.Resumo) resultado.getRequest()
+				.getAttribute(ContadorConsultas.ATRIBUTO);
+		assertThat(resumo).as("ConsultasSqlFilter não registrou a requisição").isNotNull();
+		return resumo;
+	}
+}
@@ -0,0 +1,142 @@
+package com.datoro.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.service.LancamentoService;
+import com.datoro.minhasfinancas.service.UsuarioService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Negociação de formato e compressão medidas no Tomcat real, onde a compressão
+ * acontece.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+public class FormatosRespostaConfigTest {
+
+	static final MediaType CBOR = MediaType.valueOf("application/cbor");
+
+	// O JSON lê o valor como double e os formatos binários como BigDecimal.
+	static final Comparator<JsonNode> MESMO_VALOR = (a, b) -> a.isNumber() && b.isNumber()
+			? a.decimalValue().compareTo(b.decimalValue())
+			: a.equals(b) ? 0 : 1;
+
+	@Autowired
+	TestRestTemplate rest;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	String busca;
+
+	@BeforeEach
+	public void setUp() {
+		if (busca != null) {
+			return;
+		}
+		Usuario usuario = usuarioService.salvarUsuario(Usuario.builder().nome("usuario")
+				.email("formatos" + System.nanoTime() + "@email.com").senha("senha").build());
+		List<Lancamento> lancamentos = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			lancamentos.add(Lancamento.builder().descricao("lancamento " + i).mes(i % 12 + 1).ano(2020)
+					.valor(BigDecimal.TEN).tipo(TipoLancamento.RECEITA).usuario(usuario).build());
+		}
+		lancamentoService.salvarLote(lancamentos);
+		busca = "/api/lancamentos?usuario=" + usuario.getId();
+	}
+
+	// Teste 01 - Smile e CBOR trazem os mesmos dados do JSON, em menos bytes.
+	@Test
+	public void deveNegociarFormatosBinarios() throws IOException {
+		ResponseEntity<byte[]> json = obter(busca, MediaType.APPLICATION_JSON, null);
+		ResponseEntity<byte[]> smile = obter(busca, FormatosRespostaConfig.APPLICATION_SMILE, null);
+		ResponseEntity<byte[]> cbor = obter(busca, CBOR, null);
+
+		JsonNode esperado = objectMapper.readTree(json.getBody());
+		assertThat(smile.getHeaders().getContentType()).isEqualTo(FormatosRespostaConfig.APPLICATION_SMILE);
+		assertThat(esperado.equals(MESMO_VALOR, new ObjectMapper(new SmileFactory()).readTree(smile.getBody()))).isTrue();
+		assertThat(cbor.getHeaders().getContentType()).isEqualTo(CBOR);
+		assertThat(esperado.equals(MESMO_VALOR, new ObjectMapper(new CBORFactory()).readTree(cbor.getBody()))).isTrue();
+		assertThat(smile.getBody().length).isLessThan(json.getBody().length / 2);
+		assertThat(cbor.getBody().length).isLessThan(json.getBody().length);
+	}
+
+	// Teste 02 - Sem Accept específico a resposta continua em JSON.
+	@Test
+	public void deveResponderJsonPorPadrao() {
+		ResponseEntity<byte[]> resposta = obter(busca, MediaType.ALL, null);
+
+		assertThat(MediaType.APPLICATION_JSON.isCompatibleWith(resposta.getHeaders().getContentType())).isTrue();
+	}
+
+	// Teste 03 - Respostas acima do limite saem comprimidas com gzip, mantendo ETag e Vary.
+	@Test
+	public void deveComprimirRespostasGrandes() throws IOException {
+		ResponseEntity<byte[]> simples = obter(busca, MediaType.APPLICATION_JSON, null);
+		ResponseEntity<byte[]> comprimida = obter(busca, MediaType.APPLICATION_JSON, "gzip");
+
+		assertThat(comprimida.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(comprimida.getHeaders().getETag()).isEqualTo(simples.getHeaders().getETag());
+		assertThat(comprimida.getHeaders().getVary()).usingElementComparator(String.CASE_INSENSITIVE_ORDER)
+				.contains(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+		assertThat(new GZIPInputStream(new ByteArrayInputStream(comprimida.getBody())).readAllBytes())
+				.isEqualTo(simples.getBody());
+	}
+
+	// Teste 04 - Respostas pequenas não são comprimidas.
+	@Test
+	public void naoDeveComprimirRespostasPequenas() {
+		ResponseEntity<byte[]> resposta = obter(busca + "&mes=1&tipo=DESPESA", MediaType.APPLICATION_JSON, "gzip");
+
+		assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(resposta.getHeaders().getContentLength()).isEqualTo(resposta.getBody().length);
+		assertThat(resposta.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+	}
+
+	private ResponseEntity<byte[]> obter(String url, MediaType formato, String codificacao) {
+		HttpHeaders cabecalhos = new HttpHeaders();
+		cabecalhos.setAccept(Collections.singletonList(formato));
+		if (codificacao != null) {
+			cabecalhos.set(HttpHeaders.ACCEPT_ENCODING, codificacao);
+		}
+		return rest.exchange(url, HttpMethod.GET, new HttpEntity<>(cabecalhos), byte[].class);
+	}
+}
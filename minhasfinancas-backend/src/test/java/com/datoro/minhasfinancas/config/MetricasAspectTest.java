@@ -0,0 +1,84 @@
+package com.datoro.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.datoro.minhasfinancas.exception.ErroAutenticacao;
+import com.datoro.minhasfinancas.exception.RegraNegocioException;
+import com.datoro.minhasfinancas.model.repository.LancamentoRepository;
+import com.datoro.minhasfinancas.service.LancamentoService;
+import com.datoro.minhasfinancas.service.UsuarioService;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MetricasAspectTest {
+
+	SimpleMeterRegistry registry;
+	MetricasAspect aspecto;
+
+	@BeforeEach
+	public void setUp() {
+		registry = new SimpleMeterRegistry();
+		aspecto = new MetricasAspect(registry);
+	}
+
+	// Teste 01 - Chamadas com sucesso são medidas por classe e operação.
+	@Test
+	public void deveMedirChamadaComSucesso() {
+		LancamentoService service = proxy(Mockito.mock(LancamentoService.class));
+
+		service.obterPorId(1L);
+		service.obterPorId(2L);
+
+		Timer timer = registry.get(MetricasAspect.METRICA_SERVICO).tag("classe", "LancamentoService")
+				.tag("operacao", "obterPorId").tag("resultado", MetricasAspect.SUCESSO).timer();
+		assertThat(timer.count()).isEqualTo(2);
+	}
+
+	// Teste 02 - Exceções de negócio e de autenticação têm resultado próprio.
+	@Test
+	public void deveMarcarOResultadoPelaExcecao() {
+		UsuarioService mock = Mockito.mock(UsuarioService.class);
+		Mockito.when(mock.autenticar("email", "senha")).thenThrow(new ErroAutenticacao("Senha inválida!"));
+		Mockito.doThrow(new RegraNegocioException("Já existe")).when(mock).validarEmail("email");
+		UsuarioService service = proxy(mock);
+
+		Throwable erroAutenticacao = catchThrowable(() -> service.autenticar("email", "senha"));
+		Throwable erroNegocio = catchThrowable(() -> service.validarEmail("email"));
+
+		assertThat(erroAutenticacao).isInstanceOf(ErroAutenticacao.class);
+		assertThat(erroNegocio).isInstanceOf(RegraNegocioException.class);
+		assertThat(registry.get(MetricasAspect.METRICA_SERVICO).tag("operacao", "autenticar")
+				.tag("resultado", MetricasAspect.AUTENTICACAO).tag("excecao", "ErroAutenticacao").timer().count())
+				.isEqualTo(1);
+		assertThat(registry.get(MetricasAspect.METRICA_SERVICO).tag("operacao", "validarEmail")
+				.tag("resultado", MetricasAspect.REGRA_NEGOCIO).timer().count()).isEqualTo(1);
+	}
+
+	// Teste 03 - Consultas do repositório têm métrica própria.
+	@Test
+	public void deveMedirConsultaDoRepositorio() {
+		LancamentoRepository mock = Mockito.mock(LancamentoRepository.class);
+		Mockito.when(mock.findById(1L)).thenReturn(Optional.empty());
+		LancamentoRepository repository = proxy(mock);
+
+		repository.findById(1L);
+
+		assertThat(registry.get(MetricasAspect.METRICA_REPOSITORIO).tag("classe", "LancamentoRepository")
+				.tag("operacao", "findById").timer().count()).isEqualTo(1);
+	}
+
+	private <T> T proxy(T alvo) {
+		AspectJProxyFactory fabrica = new AspectJProxyFactory(alvo);
+		fabrica.addAspect(aspecto);
+		return fabrica.getProxy();
+	}
+}
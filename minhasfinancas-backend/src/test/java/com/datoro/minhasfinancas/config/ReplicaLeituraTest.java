@@ -0,0 +1,128 @@
+package com.datoro.minhasfinancas.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.repository.FiltroLancamento;
+import com.datoro.minhasfinancas.service.LancamentoService;
+import com.datoro.minhasfinancas.service.UsuarioService;
+
+/**
+ * Roteamento entre primário e réplica, com dois bancos H2 no lugar de cada um.
+ * A réplica tem dados que o primário não tem, e o atraso informado por ela vem
+ * de uma tabela que o teste controla. Cada teste usa um filtro diferente para
+ * não receber o resultado guardado por outro no cache de busca.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+		"minhasfinancas.datasource.replica.jdbc-url=" + ReplicaLeituraTest.URL_REPLICA,
+		"minhasfinancas.datasource.replica.username=sa",
+		"minhasfinancas.datasource.replica.password=sa",
+		"minhasfinancas.datasource.replica.consulta-atraso=select segundos from financas.atraso_replica",
+		"minhasfinancas.datasource.replica.atraso-maximo-segundos=5",
+		"minhasfinancas.datasource.replica.intervalo-verificacao=3600000" })
+public class ReplicaLeituraTest {
+
+	static final String URL_REPLICA = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+	static final long USUARIO_DA_REPLICA = 900L;
+
+	static JdbcTemplate replica;
+
+	@Autowired
+	DataSource dataSource;
+
+	@Autowired
+	ReplicaLeitura replicaLeitura;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@BeforeAll
+	public static void carregarReplica() {
+		DataSource banco = new DriverManagerDataSource(URL_REPLICA, "sa", "sa");
+		Flyway.configure().dataSource(banco).locations("classpath:db/migration/comum", "classpath:db/migration/h2")
+				.load().migrate();
+		replica = new JdbcTemplate(banco);
+		replica.execute("create table if not exists financas.atraso_replica (segundos numeric)");
+		replica.update("merge into financas.usuario (id, nome, email, senha) key (id) values (?, 'replica', 'replica@email.com', 's')",
+				USUARIO_DA_REPLICA);
+		replica.update("merge into financas.lancamento (id, descricao, mes, ano, valor, id_usuario, tipo, status) key (id)"
+				+ " values (900, 'só na réplica', 1, 2020, 10, ?, 'RECEITA', 'PENDENTE')", USUARIO_DA_REPLICA);
+	}
+
+	@BeforeEach
+	public void setUp() {
+		informarAtraso(0);
+	}
+
+	// Teste 01 - Transações somente leitura leem da réplica.
+	@Test
+	public void deveLerDaReplica() {
+		assertThat(lancamentoService.buscar(filtroDoUsuarioDaReplica(null, null))).hasSize(1);
+	}
+
+	// Teste 02 - Escritas vão para o primário.
+	@Test
+	public void deveEscreverNoPrimario() {
+		usuarioService.salvarUsuario(Usuario.builder().nome("primario").email("primario@email.com").senha("senha").build());
+
+		String consulta = "select count(*) from financas.usuario where email = 'primario@email.com'";
+		assertThat(new JdbcTemplate(dataSource).queryForObject(consulta, Integer.class)).isEqualTo(1);
+		assertThat(replica.queryForObject(consulta, Integer.class)).isZero();
+	}
+
+	// Teste 03 - Com a réplica atrasada além do máximo, as leituras voltam para o primário.
+	@Test
+	public void deveLerDoPrimarioComAReplicaAtrasada() {
+		informarAtraso(60);
+
+		assertThat(replicaLeitura.isDisponivel()).isFalse();
+		assertThat(replicaLeitura.getAtrasoSegundos()).isEqualTo(60);
+		assertThat(lancamentoService.buscar(filtroDoUsuarioDaReplica(null, 2020))).isEmpty();
+	}
+
+	// Teste 04 - Cada instrução é contada uma vez, no pool que a executou.
+	@Test
+	public void deveContarAsConsultasDaReplicaUmaVez() {
+		ContadorConsultas.iniciar();
+		try {
+			// Com a versão do usuário já informada, a busca é uma única instrução.
+			lancamentoService.buscar(FiltroLancamento.de(filtroDoUsuarioDaReplica(1, null)), 0L);
+		} finally {
+			assertThat(ContadorConsultas.encerrar().getConsultas()).isEqualTo(1);
+		}
+	}
+
+	private void informarAtraso(int segundos) {
+		replica.update("delete from financas.atraso_replica");
+		replica.update("insert into financas.atraso_replica (segundos) values (?)", segundos);
+		replicaLeitura.verificar();
+	}
+
+	private Lancamento filtroDoUsuarioDaReplica(Integer mes, Integer ano) {
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(Usuario.builder().id(USUARIO_DA_REPLICA).build());
+		filtro.setMes(mes);
+		filtro.setAno(ano);
+		return filtro;
+	}
+}
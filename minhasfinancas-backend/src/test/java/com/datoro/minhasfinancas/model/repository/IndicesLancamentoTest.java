@@ -0,0 +1,191 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.config.ConsultasSqlConfig;
+import com.datoro.minhasfinancas.config.ContadorConsultas;
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+
+/**
+ * Confere as migrações e, pelo EXPLAIN do H2, que as consultas geradas pelo
+ * Hibernate usam os índices criados para elas.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Import(ConsultasSqlConfig.class)
+public class IndicesLancamentoTest {
+
+	@Autowired
+	JdbcTemplate jdbc;
+
+	@Autowired
+	Flyway flyway;
+
+	@Autowired
+	LancamentoRepository repository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	static JdbcTemplate planos;
+
+	// Com a tabela vazia o H2 escolhe qualquer índice que comece por id_usuario; o plano só diz algo com
+	// dados e estatísticas. ANALYZE encerra a transação, por isso os planos saem de um banco à parte.
+	@BeforeAll
+	public static void carregarBancoDePlanos() {
+		planos = new JdbcTemplate(migrar("jdbc:h2:mem:planos;DB_CLOSE_DELAY=-1", null));
+		planos.update("insert into financas.usuario (id, nome, email, senha) values (1, 'um', 'um@email.com', 's'),"
+				+ " (2, 'dois', 'dois@email.com', 's')");
+
+		List<Object[]> lancamentos = new ArrayList<>();
+		for (int i = 1; i <= 2000; i++) {
+			lancamentos.add(new Object[] { (long) i, "Lançamento " + i, i % 12 + 1, 2018 + i % 3, BigDecimal.TEN,
+					(long) (i % 2 + 1), i % 3 == 0 ? "RECEITA" : "DESPESA", i % 5 == 0 ? "EFETIVADO" : "PENDENTE" });
+		}
+		planos.batchUpdate("insert into financas.lancamento (id, descricao, mes, ano, valor, id_usuario, tipo, status)"
+				+ " values (?, ?, ?, ?, ?, ?, ?, ?)", lancamentos);
+		planos.execute("analyze");
+	}
+
+	// Teste 01 - Todas as migrações estão aplicadas.
+	@Test
+	public void deveAplicarTodasAsMigracoes() {
+		assertThat(flyway.info().applied()).isNotEmpty();
+		assertThat(flyway.info().pending()).isEmpty();
+	}
+
+	// Teste 02 - A busca por usuário e período usa o índice (id_usuario, ano, mes, id).
+	@Test
+	public void deveBuscarPeloIndiceDePeriodo() {
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(Usuario.builder().id(1L).build());
+		filtro.setAno(2019);
+		filtro.setMes(3);
+
+		String sql = sqlDe(() -> repository.buscar(LancamentoSpecifications.doFiltro(filtro), Sort.by("ano", "mes", "id")));
+
+		assertThat(explicar(sql)).contains("IX_LANCAMENTO_USUARIO_PERIODO");
+	}
+
+	// Teste 03 - Os totais do saldo são lidos apenas do índice (id_usuario, tipo, status, valor).
+	@Test
+	public void deveSomarOSaldoPeloIndiceDeTipoEStatus() {
+		String sql = sqlDe(() -> repository.obterTotaisPorTipoEStatus(1L));
+
+		assertThat(explicar(sql)).contains("IX_LANCAMENTO_USUARIO_TIPO_STATUS");
+	}
+
+	// Teste 04 - Email é único e a busca por email usa o índice.
+	@Test
+	public void deveTerEmailUnico() {
+		String sql = sqlDe(() -> usuarioRepository.findByEmail("indice@email.com"));
+
+		jdbc.update("insert into financas.usuario (id, nome, email, senha) values (-1, 'um', 'indice@email.com', 's')");
+		Throwable erro = catchThrowable(() -> jdbc.update(
+				"insert into financas.usuario (id, nome, email, senha) values (-2, 'dois', 'indice@email.com', 's')"));
+
+		assertThat(explicar(sql)).contains("UX_USUARIO_EMAIL");
+		assertThat(erro).isInstanceOf(DuplicateKeyException.class);
+	}
+
+	// Teste 05 - Sobre lançamentos já existentes, a migração preenche saldo e resumo mensal.
+	@Test
+	public void deveCarregarOsDerivadosAPartirDosLancamentosExistentes() {
+		DataSource banco = migrar("jdbc:h2:mem:migracao;DB_CLOSE_DELAY=-1", "2");
+		JdbcTemplate antigo = new JdbcTemplate(banco);
+		antigo.update("insert into financas.usuario (id, nome, email, senha) values (1, 'um', 'um@email.com', 's')");
+		antigo.update("insert into financas.lancamento (id, descricao, mes, ano, valor, id_usuario, tipo, status) values"
+				+ " (1, 'salario', 1, 2020, 100, 1, 'RECEITA', 'EFETIVADO'),"
+				+ " (2, 'aluguel', 1, 2020, 40, 1, 'DESPESA', 'EFETIVADO'),"
+				+ " (3, 'mercado', 1, 2020, 15, 1, 'DESPESA', 'PENDENTE')");
+
+		migrar(banco, null);
+
+		assertThat(antigo.queryForObject("select saldo from financas.saldo_usuario where id_usuario = 1", BigDecimal.class))
+				.isEqualByComparingTo("60");
+		assertThat(antigo.queryForObject("select count(*) from financas.resumo_mensal where id_usuario = 1", Integer.class))
+				.isEqualTo(3);
+	}
+
+	// Teste 06 - Com faixa de período e de valor, a busca segue pelo índice (id_usuario, ano, mes, id).
+	@Test
+	public void deveBuscarFaixasPeloIndiceDePeriodo() {
+		FiltroLancamento filtro = FiltroLancamento.builder()
+				.idUsuario(1L)
+				.periodoInicial(YearMonth.of(2019, 3))
+				.periodoFinal(YearMonth.of(2019, 12))
+				.valorMinimo(BigDecimal.ONE)
+				.status(EnumSet.of(StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO))
+				.build();
+
+		String sql = sqlDe(() -> repository.buscar(LancamentoSpecifications.doFiltro(filtro), Sort.by("ano", "mes", "id")));
+
+		assertThat(explicar(sql)).contains("IX_LANCAMENTO_USUARIO_PERIODO");
+	}
+
+	private String sqlDe(Runnable consulta) {
+		ContadorConsultas.Resumo resumo;
+		ContadorConsultas.iniciar();
+		try {
+			consulta.run();
+		} finally {
+			resumo = ContadorConsultas.encerrar();
+		}
+		assertThat(resumo.getConsultas()).isEqualTo(1);
+		return resumo.getMaisRepetida();
+	}
+
+	// O plano não depende dos valores, então todos os parâmetros recebem 1.
+	private String explicar(String sql) {
+		Object[] parametros = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+		Arrays.fill(parametros, 1);
+		return planos.queryForObject("explain " + sql, String.class, parametros);
+	}
+
+	private static DataSource migrar(String url, String versao) {
+		DataSource banco = new DriverManagerDataSource(url, "sa", "sa");
+		Flyway.configure().dataSource(banco).load().clean();
+		migrar(banco, versao);
+		return banco;
+	}
+
+	private static void migrar(DataSource banco, String versao) {
+		FluentConfiguration configuracao = Flyway.configure().dataSource(banco)
+				.locations("classpath:db/migration/comum", "classpath:db/migration/h2");
+		if (versao != null) {
+			configuracao.target(versao);
+		}
+		configuracao.load().migrate();
+	}
+}
@@ -5,8 +5,14 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,10 +20,13 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
 import com.datoro.minhasfinancas.model.enums.StatusLancamento;
 import com.datoro.minhasfinancas.model.enums.TipoLancamento;
 
@@ -82,11 +91,182 @@ public class LancamentoRepositoryTest {
 		assertThat(lancamentoEncontrado.isPresent()).isTrue();
 	}
 
+	// Teste 05 - Pagina por cursor na ordem (ano, mes, id).
+	@Test
+	public void deveBuscarLancamentosAposOCursor() {
+		Lancamento janeiro = criarLancamento();
+		janeiro.setAno(2020);
+		janeiro.setMes(1);
+		entityManager.persist(janeiro);
+
+		Lancamento agosto = criarEPersistirUmLancamento();
+
+		Lancamento proximoAno = criarLancamento();
+		proximoAno.setAno(2021);
+		proximoAno.setMes(1);
+		entityManager.persist(proximoAno);
+
+		Sort ordem = Sort.by("ano", "mes", "id");
+
+		List<LancamentoProjecao> primeiraPagina = repository.buscar(Specification.where(null), ordem, 2);
+		assertThat(primeiraPagina).extracting(LancamentoProjecao::getId).containsExactly(janeiro.getId(), agosto.getId());
+
+		Specification<Lancamento> aposAgosto = LancamentoSpecifications.aposCursor(CursorLancamento.de(primeiraPagina.get(1)));
+		List<LancamentoProjecao> segundaPagina = repository.buscar(aposAgosto, ordem, 2);
+		assertThat(segundaPagina).extracting(LancamentoProjecao::getId).containsExactly(proximoAno.getId());
+	}
+
+	// Teste 06 - Totais por tipo e status em uma única consulta.
+	@Test
+	public void deveObterTotaisPorTipoEStatusDoUsuario() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+
+		Lancamento receita = criarLancamento();
+		receita.setUsuario(usuario);
+		receita.setStatus(StatusLancamento.EFETIVADO);
+		entityManager.persist(receita);
+
+		Lancamento outraReceita = criarLancamento();
+		outraReceita.setUsuario(usuario);
+		outraReceita.setStatus(StatusLancamento.EFETIVADO);
+		entityManager.persist(outraReceita);
+
+		Lancamento despesa = criarLancamento();
+		despesa.setUsuario(usuario);
+		despesa.setTipo(TipoLancamento.DESPESA);
+		despesa.setStatus(StatusLancamento.PENDENTE);
+		entityManager.persist(despesa);
+
+		List<TotalLancamento> totais = repository.obterTotaisPorTipoEStatus(usuario.getId());
+
+		assertThat(totais).hasSize(2);
+		assertThat(totais).anySatisfy(total -> {
+			assertThat(total.getTipo()).isEqualTo(TipoLancamento.RECEITA);
+			assertThat(total.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+			assertThat(total.getTotal()).isEqualByComparingTo(BigDecimal.valueOf(20));
+		});
+	}
+
+	// Teste 07 - Percorre as projeções sem carregar entidades no contexto.
+	@Test
+	public void devePercorrerProjecoesDosLancamentos() {
+		Lancamento lancamento = criarEPersistirUmLancamento();
+		criarEPersistirUmLancamento();
+		entityManager.flush();
+		entityManager.clear();
+
+		List<LancamentoProjecao> percorridos = new ArrayList<>();
+		repository.percorrer(Specification.where(null), Sort.by("id"), percorridos::add);
+
+		assertThat(percorridos).hasSize(2);
+		assertThat(percorridos.get(0).getId()).isEqualTo(lancamento.getId());
+		assertThat(percorridos.get(0).getDescricao()).isEqualTo(lancamento.getDescricao());
+		assertThat(percorridos.get(0).getTipo()).isEqualTo(lancamento.getTipo());
+		assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+	}
+
+	// Teste 08 - Insere um lote maior que o tamanho do batch.
+	@Test
+	public void deveInserirLancamentosEmLote() {
+		List<Lancamento> lote = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			lote.add(criarLancamento());
+		}
+
+		repository.inserirEmLote(lote, 50);
+
+		assertThat(lote).allMatch(lancamento -> lancamento.getId() != null);
+		assertThat(repository.count()).isEqualTo(120);
+	}
+
+	// Teste 09 - Altera o status em massa e agrupa os atingidos antes.
+	@Test
+	public void deveAtualizarOStatusEmMassa() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		for (int i = 0; i < 3; i++) {
+			Lancamento lancamento = criarLancamento();
+			lancamento.setUsuario(usuario);
+			lancamento.setStatus(StatusLancamento.PENDENTE);
+			entityManager.persist(lancamento);
+		}
+
+		Lancamento filtro = new Lancamento();
+		filtro.setUsuario(usuario);
+		filtro.setAno(2020);
+		filtro.setMes(8);
+		Specification<Lancamento> especificacao = LancamentoSpecifications.doFiltro(filtro)
+				.and(LancamentoSpecifications.comStatusDiferenteDe(StatusLancamento.EFETIVADO));
+
+		int bloqueados = repository.bloquear(especificacao);
+		List<GrupoLancamento> grupos = repository.agrupar(especificacao);
+		int atualizados = repository.atualizarStatus(especificacao, StatusLancamento.EFETIVADO);
+
+		assertThat(bloqueados).isEqualTo(3);
+		assertThat(grupos).hasSize(1);
+		assertThat(grupos.get(0).getQuantidade()).isEqualTo(3L);
+		assertThat(grupos.get(0).getTotal()).isEqualByComparingTo(BigDecimal.valueOf(30));
+		assertThat(atualizados).isEqualTo(3);
+		assertThat(repository.findAll()).allMatch(lancamento -> lancamento.getStatus() == StatusLancamento.EFETIVADO);
+	}
+
+	// Teste 09.1 - Por ids, só os lançamentos do usuário são bloqueados, agrupados e alterados.
+	@Test
+	public void naoDeveAtualizarOStatusDeLancamentoDeOutroUsuario() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Usuario outro = entityManager.persist(Usuario.builder().nome("outro").email("outro@gmail.com").senha("senha").build());
+		Lancamento doUsuario = persistir(usuario, 2020, 8, 10, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 1);
+		Lancamento doOutro = persistir(outro, 2020, 8, 20, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 1);
+
+		Specification<Lancamento> especificacao = LancamentoSpecifications.doUsuario(usuario.getId())
+				.and(LancamentoSpecifications.comIds(Arrays.asList(doUsuario.getId(), doOutro.getId())));
+
+		assertThat(repository.bloquear(especificacao)).isEqualTo(1);
+		assertThat(repository.agrupar(especificacao)).extracting(GrupoLancamento::getIdUsuario).containsExactly(usuario.getId());
+		assertThat(repository.atualizarStatus(especificacao, StatusLancamento.EFETIVADO)).isEqualTo(1);
+		assertThat(repository.findById(doOutro.getId()).get().getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+	}
+
+	// Teste 10 - Faixas de período, valor e cadastro, listas de tipo e status e ordenação própria.
+	@Test
+	public void deveFiltrarPorFaixasEListas() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+		Lancamento dezembro = persistir(usuario, 2019, 12, 50, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 2);
+		Lancamento marco = persistir(usuario, 2020, 3, 30, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 5);
+		persistir(usuario, 2019, 11, 40, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 1);
+		persistir(usuario, 2020, 3, 5, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 5);
+		persistir(usuario, 2020, 4, 60, TipoLancamento.DESPESA, StatusLancamento.CANCELADO, 5);
+		persistir(usuario, 2020, 3, 70, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 9);
+
+		FiltroLancamento filtro = FiltroLancamento.builder()
+				.idUsuario(usuario.getId())
+				.periodoInicial(YearMonth.of(2019, 12))
+				.periodoFinal(YearMonth.of(2020, 3))
+				.valorMinimo(BigDecimal.TEN)
+				.valorMaximo(BigDecimal.valueOf(100))
+				.cadastroFinal(LocalDate.of(2020, 1, 5))
+				.status(EnumSet.of(StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO))
+				.build();
+
+		List<LancamentoProjecao> lancamentos = repository.buscar(LancamentoSpecifications.doFiltro(filtro),
+				FiltroLancamento.ordenacao(Arrays.asList("-valor")));
+
+		assertThat(lancamentos).extracting(LancamentoProjecao::getId).containsExactly(dezembro.getId(), marco.getId());
+		assertThat(repository.count(LancamentoSpecifications.doFiltro(filtro.toBuilder()
+				.tipos(EnumSet.of(TipoLancamento.RECEITA)).build()))).isEqualTo(1);
+	}
+
 	public static Lancamento criarLancamento() {
 		return Lancamento.builder().ano(2020).mes(8).descricao("Lancamento de teste").valor(BigDecimal.valueOf(10))
 				.tipo(TipoLancamento.RECEITA).dataCadastro(LocalDate.now()).build();
 	}
 
+	private Lancamento persistir(Usuario usuario, int ano, int mes, int valor, TipoLancamento tipo,
+			StatusLancamento status, int diaCadastro) {
+		return entityManager.persist(Lancamento.builder().usuario(usuario).ano(ano).mes(mes).descricao("Lancamento")
+				.valor(BigDecimal.valueOf(valor)).tipo(tipo).status(status)
+				.dataCadastro(LocalDate.of(2020, 1, diaCadastro)).build());
+	}
+
 	private Lancamento criarEPersistirUmLancamento() {
 		Lancamento lancamento = criarLancamento();
 		entityManager.persist(lancamento);
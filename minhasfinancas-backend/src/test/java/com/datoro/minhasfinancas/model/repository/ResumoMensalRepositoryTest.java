@@ -0,0 +1,98 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.model.entity.ResumoMensal;
+import com.datoro.minhasfinancas.model.entity.ResumoMensalId;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class ResumoMensalRepositoryTest {
+
+	@Autowired
+	ResumoMensalRepository repository;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	// Teste 01 - Soma total e quantidade na linha existente.
+	@Test
+	public void deveSomarAoResumoExistente() {
+		entityManager.persistAndFlush(criarResumo(StatusLancamento.PENDENTE));
+
+		repository.somar(1L, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(5), 2L);
+		entityManager.clear();
+
+		ResumoMensal resumo = entityManager.find(ResumoMensal.class,
+				new ResumoMensalId(1L, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.PENDENTE));
+		assertThat(resumo.getTotal()).isEqualByComparingTo(BigDecimal.valueOf(15));
+		assertThat(resumo.getQuantidade()).isEqualTo(3L);
+	}
+
+	// Teste 02 - Sem linha para a chave, cria uma com o total e a quantidade.
+	@Test
+	public void deveCriarOResumoInexistenteAoSomar() {
+		repository.somar(1L, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(5), 1L);
+		entityManager.clear();
+
+		ResumoMensal resumo = entityManager.find(ResumoMensal.class,
+				new ResumoMensalId(1L, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.PENDENTE));
+		assertThat(resumo.getTotal()).isEqualByComparingTo(BigDecimal.valueOf(5));
+		assertThat(resumo.getQuantidade()).isEqualTo(1L);
+	}
+
+	// Teste 03 - O resumo anual ignora os cancelados.
+	@Test
+	public void deveBuscarOResumoDoAnoSemCancelados() {
+		entityManager.persist(criarResumo(StatusLancamento.PENDENTE));
+		entityManager.persist(criarResumo(StatusLancamento.EFETIVADO));
+		entityManager.persist(criarResumo(StatusLancamento.CANCELADO));
+
+		List<ResumoMensal> resumos = repository.findByIdUsuarioAndAnoAndStatusNot(1L, 2020, StatusLancamento.CANCELADO);
+
+		assertThat(resumos).hasSize(2).noneMatch(resumo -> resumo.getStatus() == StatusLancamento.CANCELADO);
+	}
+
+	// Teste 04 - O saldo acumulado soma só os efetivados, mês a mês, até o mês final.
+	@Test
+	public void deveAcumularOSaldoEfetivadoPorMes() {
+		entityManager.persist(criarResumo(2020, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100));
+		entityManager.persist(criarResumo(2020, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 30));
+		entityManager.persist(criarResumo(2020, 1, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 50));
+		entityManager.persist(criarResumo(2020, 3, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 10));
+		entityManager.persist(criarResumo(2020, 5, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 7));
+
+		List<SaldoMensal> saldos = repository.obterSaldosAcumulados(1L, 2020, 4);
+
+		assertThat(saldos).extracting(SaldoMensal::getMes).containsExactly(1, 3);
+		assertThat(saldos.get(0).getSaldo()).isEqualByComparingTo("70");
+		assertThat(saldos.get(1).getSaldo()).isEqualByComparingTo("60");
+	}
+
+	private ResumoMensal criarResumo(int ano, int mes, TipoLancamento tipo, StatusLancamento status, int total) {
+		return ResumoMensal.builder().idUsuario(1L).ano(ano).mes(mes).tipo(tipo).status(status)
+				.total(BigDecimal.valueOf(total)).quantidade(1L).build();
+	}
+
+	private ResumoMensal criarResumo(StatusLancamento status) {
+		return ResumoMensal.builder().idUsuario(1L).ano(2020).mes(8).tipo(TipoLancamento.RECEITA).status(status)
+				.total(BigDecimal.TEN).quantidade(1L).build();
+	}
+}
@@ -0,0 +1,92 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.model.entity.SaldoDiario;
+import com.datoro.minhasfinancas.model.entity.SaldoDiarioId;
+import com.datoro.minhasfinancas.model.entity.SaldoUsuario;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class SaldoDiarioRepositoryTest {
+
+	static final LocalDate DIA = LocalDate.of(2020, 8, 10);
+
+	@Autowired
+	SaldoDiarioRepository repository;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	// Teste 01 - O saldo em uma data é o da última linha até ela.
+	@Test
+	public void deveObterAUltimaLinhaAteAData() {
+		entityManager.persist(criarSaldoDiario(1L, DIA.minusDays(5), 10));
+		entityManager.persist(criarSaldoDiario(1L, DIA, 20));
+		entityManager.persist(criarSaldoDiario(1L, DIA.plusDays(1), 30));
+		entityManager.persist(criarSaldoDiario(2L, DIA.minusDays(1), 99));
+
+		Optional<SaldoDiario> noDia = repository.findFirstByIdUsuarioAndDataLessThanEqualOrderByDataDesc(1L, DIA);
+		Optional<SaldoDiario> entre = repository.findFirstByIdUsuarioAndDataLessThanEqualOrderByDataDesc(1L, DIA.minusDays(2));
+		Optional<SaldoDiario> antes = repository.findFirstByIdUsuarioAndDataLessThanEqualOrderByDataDesc(1L, DIA.minusDays(6));
+
+		assertThat(noDia.get().getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(20));
+		assertThat(entre.get().getData()).isEqualTo(DIA.minusDays(5));
+		assertThat(antes).isEmpty();
+	}
+
+	// Teste 02 - Insere e depois atualiza a linha do dia com o saldo_usuario atual.
+	@Test
+	public void deveGravarALinhaDoDiaComOSaldoAtual() {
+		SaldoUsuario saldo = entityManager.persist(SaldoUsuario.builder().idUsuario(1L).saldo(BigDecimal.valueOf(50)).build());
+		entityManager.flush();
+
+		int atualizadosAntes = repository.atualizarDoSaldoAtual(1L, DIA);
+		int inseridos = repository.inserirDoSaldoAtual(1L, DIA);
+		saldo.setSaldo(BigDecimal.valueOf(70));
+		entityManager.flush();
+		int atualizados = repository.atualizarDoSaldoAtual(1L, DIA);
+		entityManager.clear();
+
+		assertThat(atualizadosAntes).isZero();
+		assertThat(inseridos).isEqualTo(1);
+		assertThat(atualizados).isEqualTo(1);
+		assertThat(entityManager.find(SaldoDiario.class, new SaldoDiarioId(1L, DIA)).getSaldo())
+				.isEqualByComparingTo(BigDecimal.valueOf(70));
+	}
+
+	// Teste 03 - Divergentes são os usuários sem linha diária ou com a última diferente do saldo_usuario.
+	@Test
+	public void deveObterOsUsuariosDivergentes() {
+		entityManager.persist(SaldoUsuario.builder().idUsuario(1L).saldo(BigDecimal.valueOf(10)).build());
+		entityManager.persist(SaldoUsuario.builder().idUsuario(2L).saldo(BigDecimal.valueOf(20)).build());
+		entityManager.persist(SaldoUsuario.builder().idUsuario(3L).saldo(BigDecimal.valueOf(30)).build());
+		entityManager.persist(criarSaldoDiario(1L, DIA.minusDays(1), 5));
+		entityManager.persist(criarSaldoDiario(1L, DIA, 10));
+		entityManager.persist(criarSaldoDiario(2L, DIA.minusDays(1), 20));
+		entityManager.persist(criarSaldoDiario(2L, DIA, 25));
+		entityManager.flush();
+
+		assertThat(repository.obterUsuariosDivergentes()).containsExactlyInAnyOrder(2L, 3L);
+	}
+
+	private SaldoDiario criarSaldoDiario(Long idUsuario, LocalDate data, int saldo) {
+		return SaldoDiario.builder().idUsuario(idUsuario).data(data).saldo(BigDecimal.valueOf(saldo)).build();
+	}
+}
@@ -0,0 +1,50 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.model.entity.SaldoUsuario;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class SaldoUsuarioRepositoryTest {
+
+	@Autowired
+	SaldoUsuarioRepository repository;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	// Teste 01 - Sem linha do usuário, o upsert a cria com o saldo inicial.
+	@Test
+	public void deveCriarOSaldoComOValorInicial() {
+		repository.criarOuSomar(1L, BigDecimal.valueOf(100), BigDecimal.valueOf(30));
+		entityManager.clear();
+
+		assertThat(entityManager.find(SaldoUsuario.class, 1L).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(100));
+	}
+
+	// Teste 02 - Com a linha já criada, o upsert soma só o delta.
+	@Test
+	public void deveSomarODeltaAoSaldoExistente() {
+		entityManager.persistAndFlush(SaldoUsuario.builder().idUsuario(1L).saldo(BigDecimal.valueOf(50)).build());
+
+		repository.criarOuSomar(1L, BigDecimal.valueOf(100), BigDecimal.valueOf(30));
+		entityManager.clear();
+
+		assertThat(entityManager.find(SaldoUsuario.class, 1L).getSaldo()).isEqualByComparingTo(BigDecimal.valueOf(80));
+	}
+}
@@ -2,6 +2,9 @@ package com.datoro.minhasfinancas.model.repository;
 
 import java.util.Optional;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +15,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.datoro.minhasfinancas.model.entity.Usuario;
 
@@ -27,6 +32,9 @@ public class UsuarioRepositoryTest {
 	@Autowired
 	TestEntityManager entityManager;
 	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
 	//Testes com a camada repository - Testes integrados com a base de dados.
 	
 	//Teste: 1 (Verifica a existencia de um email).
@@ -104,6 +112,30 @@ public class UsuarioRepositoryTest {
 	}
 	
 	
+	//Teste: 6 (Usuario lido fica no cache de segundo nível até ser removido).
+	//Sem transação: o cache só recebe o que foi confirmado.
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void deveManterUsuarioNoCacheDeSegundoNivelAteSerRemovido() {
+		
+		//cenário
+		Usuario usuario = repository.save(criarUsuario());
+		Cache cache = entityManagerFactory.getCache();
+		cache.evictAll();
+		
+		try {
+			//ação
+			repository.findById(usuario.getId());
+			
+			//verificação
+			Assertions.assertThat(cache.contains(Usuario.class, usuario.getId())).isTrue();
+			repository.removerDoCache(usuario);
+			Assertions.assertThat(cache.contains(Usuario.class, usuario.getId())).isFalse();
+		} finally {
+			repository.delete(usuario);
+		}
+	}
+	
 	//Cria um usuario a ser utilizado no teste quando nescessário.
 	public static Usuario criarUsuario() {
 		return Usuario.builder().nome("usuario").email("usuario@gmail.com").senha("senha").build();
@@ -0,0 +1,41 @@
+package com.datoro.minhasfinancas.model.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class VersaoUsuarioRepositoryTest {
+
+	@Autowired
+	VersaoUsuarioRepository repository;
+
+	// Teste 01 - A primeira escrita do usuário cria o registro na versão 1.
+	@Test
+	public void deveCriarORegistroNaVersaoUm() {
+		repository.incrementar(1L);
+
+		assertThat(repository.obterVersao(1L)).contains(1L);
+	}
+
+	// Teste 02 - As escritas seguintes só incrementam o registro.
+	@Test
+	public void deveIncrementarORegistroExistente() {
+		repository.incrementar(1L);
+		repository.incrementar(1L);
+		repository.incrementar(2L);
+
+		assertThat(repository.obterVersao(1L)).contains(2L);
+		assertThat(repository.obterVersao(2L)).contains(1L);
+	}
+}
@@ -0,0 +1,107 @@
+package com.datoro.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.repository.FiltroLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
+import com.datoro.minhasfinancas.service.impl.CacheBuscaLancamentos;
+
+public class CacheBuscaLancamentosTest {
+
+	VersaoUsuarioService versaoService;
+	CacheBuscaLancamentos cache;
+	AtomicInteger consultas;
+
+	@BeforeEach
+	public void setUp() {
+		versaoService = Mockito.mock(VersaoUsuarioService.class);
+		cache = new CacheBuscaLancamentos(versaoService, 1000, 300);
+		consultas = new AtomicInteger();
+	}
+
+	// Teste 01 - O mesmo usuário e filtro reaproveitam o resultado, com a descrição sem distinção de maiúsculas.
+	@Test
+	public void deveReaproveitarOResultadoDoMesmoFiltro() {
+		List<LancamentoProjecao> primeira = cache.obter(filtro(1L, "Mercado", 3), consulta());
+		List<LancamentoProjecao> segunda = cache.obter(filtro(1L, "mercado", 3), consulta());
+
+		assertThat(segunda).isSameAs(primeira);
+		assertThat(consultas).hasValue(1);
+	}
+
+	// Teste 02 - Filtros diferentes são guardados separadamente.
+	@Test
+	public void deveSepararFiltrosDiferentes() {
+		cache.obter(filtro(1L, null, 3), consulta());
+		cache.obter(filtro(1L, null, 4), consulta());
+		cache.obter(filtro(2L, null, 3), consulta());
+
+		assertThat(consultas).hasValue(3);
+	}
+
+	// Teste 03 - Uma nova versão dos dados do usuário invalida apenas os resultados dele.
+	@Test
+	public void deveInvalidarApenasOUsuarioComNovaVersao() {
+		cache.obter(filtro(1L, null, 3), consulta());
+		cache.obter(filtro(2L, null, 3), consulta());
+
+		Mockito.when(versaoService.obterVersao(1L)).thenReturn(1L);
+		cache.obter(filtro(1L, null, 3), consulta());
+		cache.obter(filtro(2L, null, 3), consulta());
+
+		assertThat(consultas).hasValue(3);
+	}
+
+	// Teste 04 - Filtros sem usuário não são guardados.
+	@Test
+	public void naoDeveGuardarFiltroSemUsuario() {
+		FiltroLancamento semUsuario = FiltroLancamento.builder().build();
+
+		cache.obter(semUsuario, consulta());
+		cache.obter(semUsuario, consulta());
+
+		assertThat(consultas).hasValue(2);
+		Mockito.verifyNoInteractions(versaoService);
+	}
+
+	// Teste 05 - Faixas, listas e ordenação fazem parte da chave; a ordem dos itens das listas, não.
+	@Test
+	public void deveSepararFaixasEOrdenacao() {
+		FiltroLancamento base = filtro(1L, null, null);
+		cache.obter(base.toBuilder().valorMinimo(BigDecimal.TEN).build(), consulta());
+		cache.obter(base.toBuilder().valorMinimo(BigDecimal.ONE).build(), consulta());
+		cache.obter(base.toBuilder().ordenacao(FiltroLancamento.ordenacao(Arrays.asList("-valor"))).build(), consulta());
+		cache.obter(base.toBuilder().tipos(EnumSet.of(TipoLancamento.RECEITA, TipoLancamento.DESPESA)).build(), consulta());
+		cache.obter(base.toBuilder().tipos(new HashSet<>(Arrays.asList(TipoLancamento.DESPESA, TipoLancamento.RECEITA)))
+				.build(), consulta());
+
+		assertThat(consultas).hasValue(4);
+	}
+
+	private Supplier<List<LancamentoProjecao>> consulta() {
+		return () -> {
+			consultas.incrementAndGet();
+			return Collections.singletonList(new LancamentoProjecao(1L, "lancamento", 1, 2020, BigDecimal.TEN, 1L,
+					TipoLancamento.RECEITA, StatusLancamento.PENDENTE));
+		};
+	}
+
+	private FiltroLancamento filtro(Long idUsuario, String descricao, Integer mes) {
+		return FiltroLancamento.builder().idUsuario(idUsuario).descricao(descricao).mes(mes).build();
+	}
+}
@@ -0,0 +1,67 @@
+package com.datoro.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.datoro.minhasfinancas.service.impl.IndiceDescricoes;
+import com.datoro.minhasfinancas.service.impl.TermosPesquisa;
+
+public class IndiceDescricoesTest {
+
+	IndiceDescricoes indice;
+
+	@BeforeEach
+	public void setUp() {
+		indice = new IndiceDescricoes();
+		indice.incluir(1L, "Mercado - Pão de Açúcar");
+		indice.incluir(2L, "Farmácia");
+		indice.incluir(3L, "Mercadinho da esquina");
+		indice.incluir(4L, "Mercado");
+	}
+
+	// Teste 01 - Os termos são normalizados em minúsculas, sem acentos e sem pontuação.
+	@Test
+	public void deveNormalizarOsTermos() {
+		assertThat(TermosPesquisa.de("  Pão-de-AÇÚCAR, pão! ")).containsExactly("pao", "de", "acucar");
+		assertThat(TermosPesquisa.de(" - ")).isEmpty();
+	}
+
+	// Teste 02 - Cada termo precisa ser o início de uma palavra, sem distinção de acentos.
+	@Test
+	public void deveEncontrarPorInicioDePalavra() {
+		assertThat(indice.pesquisar(TermosPesquisa.de("farmacia"), 10)).containsExactly(2L);
+		assertThat(indice.pesquisar(TermosPesquisa.de("merc acu"), 10)).containsExactly(1L);
+		assertThat(indice.pesquisar(TermosPesquisa.de("cado"), 10)).isEmpty();
+	}
+
+	// Teste 03 - Palavra inteira vale mais que início de palavra; no empate, a descrição mais curta.
+	@Test
+	public void deveOrdenarPelaRelevancia() {
+		assertThat(indice.pesquisar(TermosPesquisa.de("mercado"), 10)).containsExactly(4L, 1L);
+		assertThat(indice.pesquisar(TermosPesquisa.de("merc"), 10)).containsExactly(4L, 3L, 1L);
+		assertThat(indice.pesquisar(TermosPesquisa.de("merc"), 2)).containsExactly(4L, 3L);
+	}
+
+	// Teste 04 - Alterar a descrição substitui as palavras antigas e remover tira o lançamento.
+	@Test
+	public void deveAcompanharAlteracoesERemocoes() {
+		indice.incluir(4L, "Padaria");
+		indice.remover(3L);
+
+		assertThat(indice.pesquisar(TermosPesquisa.de("merc"), 10)).containsExactly(1L);
+		assertThat(indice.pesquisar(TermosPesquisa.de("pada"), 10)).containsExactly(4L);
+		assertThat(indice.tamanho()).isEqualTo(3);
+	}
+
+	// Teste 05 - Um lançamento com várias palavras de mesmo prefixo aparece uma vez.
+	@Test
+	public void naoDeveRepetirLancamento() {
+		indice.incluir(5L, "mercado mercearia");
+
+		assertThat(indice.pesquisar(Arrays.asList("mer"), 10)).containsOnlyOnce(5L).hasSize(4);
+	}
+}
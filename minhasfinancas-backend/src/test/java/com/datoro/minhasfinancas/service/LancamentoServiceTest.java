@@ -3,10 +3,12 @@ package com.datoro.minhasfinancas.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.Assertions.entry;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -14,7 +16,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -23,8 +26,17 @@ import com.datoro.minhasfinancas.model.entity.Lancamento;
 import com.datoro.minhasfinancas.model.entity.Usuario;
 import com.datoro.minhasfinancas.model.enums.StatusLancamento;
 import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.repository.CursorLancamento;
+import com.datoro.minhasfinancas.model.repository.FiltroLancamento;
+import com.datoro.minhasfinancas.model.repository.GrupoLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
 import com.datoro.minhasfinancas.model.repository.LancamentoRepository;
 import com.datoro.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.datoro.minhasfinancas.model.repository.TotalLancamento;
+import com.datoro.minhasfinancas.model.repository.UsuarioRepository;
+import com.datoro.minhasfinancas.model.resultado.PaginaLancamentos;
+import com.datoro.minhasfinancas.model.resultado.TotaisLancamento;
+import com.datoro.minhasfinancas.service.impl.CacheBuscaLancamentos;
 import com.datoro.minhasfinancas.service.impl.LancamentoServiceImpl;
 
 @ExtendWith(SpringExtension.class)
@@ -38,6 +50,15 @@ public class LancamentoServiceTest {
 	@MockBean
 	LancamentoRepository repository;
 
+	@MockBean
+	UsuarioRepository usuarioRepository;
+
+	@SpyBean
+	CacheBuscaLancamentos cacheBusca;
+
+	@MockBean
+	VersaoUsuarioService versaoService;
+
 	// Teste 01 - Deve salvar com sucesso um lançamento na base.
 	@Test
 	public void deveSalvarUmLancamento() {
@@ -70,6 +91,38 @@ public class LancamentoServiceTest {
 		Mockito.verify(repository, Mockito.never()).save(lancamentoASalvar);
 	}
 
+	// Teste 02.1 - Deve salvar um lote de lançamentos válidos.
+	@Test
+	public void deveSalvarUmLoteDeLancamentos() {
+		// Cenário
+		List<Lancamento> lote = Arrays.asList(LancamentoRepositoryTest.criarLancamento(), LancamentoRepositoryTest.criarLancamento());
+		Mockito.doNothing().when(lancamentoService).validar(Mockito.any(Lancamento.class));
+
+		// Execução
+		int inseridos = lancamentoService.salvarLote(lote);
+
+		// Verificação
+		assertThat(inseridos).isEqualTo(2);
+		assertThat(lote).allMatch(lancamento -> lancamento.getStatus() == StatusLancamento.PENDENTE);
+		Mockito.verify(repository).inserirEmLote(Mockito.eq(lote), Mockito.anyInt());
+	}
+
+	// Teste 02.2 - Deve informar os erros por linha e não inserir nada.
+	@Test
+	public void naoDeveSalvarOLoteQuandoHouverErroDeValidacao() {
+		// Cenário
+		Lancamento invalido = new Lancamento();
+		List<Lancamento> lote = Arrays.asList(LancamentoRepositoryTest.criarLancamento(), invalido);
+		Mockito.doNothing().when(lancamentoService).validar(lote.get(0));
+
+		// Execução e verificação.
+		Map<Integer, String> erros = lancamentoService.validarLote(lote);
+		assertThat(erros).containsExactly(entry(1, "Informe uma Descrição válida!"));
+
+		catchThrowableOfType(() -> lancamentoService.salvarLote(lote), RegraNegocioException.class);
+		Mockito.verify(repository, Mockito.never()).inserirEmLote(Mockito.anyList(), Mockito.anyInt());
+	}
+
 	// Teste 03 - Deve atualizar com sucesso um lançamento na base.
 	@Test
 	public void deveAtualizarUmLancamento() {
@@ -79,8 +132,11 @@ public class LancamentoServiceTest {
 		lancamentoSalvo.setId(1L);
 		lancamentoSalvo.setStatus(StatusLancamento.PENDENTE);
 
+		lancamentoSalvo.setUsuario(Usuario.builder().id(1L).build());
+
 		Mockito.doNothing().when(lancamentoService).validar(lancamentoSalvo);
 
+		Mockito.when(repository.obterParaAlteracao(1L)).thenReturn(Optional.of(lancamentoSalvo));
 		Mockito.when(repository.save(lancamentoSalvo)).thenReturn(lancamentoSalvo);
 
 		// Execução
@@ -88,6 +144,48 @@ public class LancamentoServiceTest {
 
 		// Verificação
 		Mockito.verify(repository, Mockito.times(1)).save(lancamentoSalvo);
+		Mockito.verify(usuarioRepository, Mockito.never()).findById(Mockito.anyLong());
+	}
+
+	// Teste 03.1 - Não deve gravar lançamento inexistente como novo.
+	@Test
+	public void deveLancarErroAoAtualizarLancamentoInexistente() {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1L);
+		lancamento.setUsuario(Usuario.builder().id(1L).build());
+		Mockito.doNothing().when(lancamentoService).validar(lancamento);
+		Mockito.when(repository.obterParaAlteracao(1L)).thenReturn(Optional.empty());
+
+		// Execução
+		Throwable erro = catchThrowable(() -> lancamentoService.atualizar(lancamento));
+
+		// Verificação
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Lancamento não encontrado na base de dados.");
+		Mockito.verify(repository, Mockito.never()).save(lancamento);
+	}
+
+	// Teste 03.2 - Ao trocar o usuário, o novo usuário precisa existir.
+	@Test
+	public void deveLancarErroAoAtualizarParaUsuarioInexistente() {
+		// Cenário
+		Lancamento gravado = LancamentoRepositoryTest.criarLancamento();
+		gravado.setId(1L);
+		gravado.setUsuario(Usuario.builder().id(1L).build());
+
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1L);
+		lancamento.setUsuario(Usuario.builder().id(2L).build());
+		Mockito.doNothing().when(lancamentoService).validar(lancamento);
+		Mockito.when(repository.obterParaAlteracao(1L)).thenReturn(Optional.of(gravado));
+		Mockito.when(usuarioRepository.findById(2L)).thenReturn(Optional.empty());
+
+		// Execução
+		Throwable erro = catchThrowable(() -> lancamentoService.atualizar(lancamento));
+
+		// Verificação
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Usuario não encontrado para o Id informado.");
+		Mockito.verify(repository, Mockito.never()).save(lancamento);
 	}
 
 	// Teste 04 - Erro ao tentar atualizar lancamento que não existe.
@@ -133,15 +231,78 @@ public class LancamentoServiceTest {
 	public void deveFiltrarLancamentos() {
 		// Cenário
 		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
-		lancamento.setId(1L);
-		List<Lancamento> lista = Arrays.asList(lancamento);
-		Mockito.when(repository.findAll(Mockito.any(Example.class))).thenReturn(lista);
+		LancamentoProjecao projecao = criarProjecao(1L);
+		List<LancamentoProjecao> lista = Arrays.asList(projecao);
+		Mockito.when(repository.buscar(Mockito.any(Specification.class), Mockito.any(Sort.class))).thenReturn(lista);
+
+		// Execução
+		List<LancamentoProjecao> resultado = lancamentoService.buscar(lancamento);
+
+		// Verificações
+		assertThat(resultado).isNotEmpty().hasSize(1).contains(projecao);
+	}
+
+	// Teste 07.1 - Deve paginar lancamentos por cursor.
+	@Test
+	public void deveBuscarUmaPaginaDeLancamentos() {
+		// Cenário
+		LancamentoProjecao primeiro = criarProjecao(1L);
+		LancamentoProjecao segundo = criarProjecao(2L);
+		LancamentoProjecao terceiro = criarProjecao(3L);
+		Mockito.when(repository.buscar(Mockito.any(Specification.class), Mockito.any(Sort.class), Mockito.eq(3)))
+				.thenReturn(Arrays.asList(primeiro, segundo, terceiro));
+
+		// Execução
+		PaginaLancamentos pagina = lancamentoService.buscarPagina(new Lancamento(), null, 2);
+
+		// Verificações
+		assertThat(pagina.getItens()).containsExactly(primeiro, segundo);
+		assertThat(pagina.isTemMais()).isTrue();
+		assertThat(CursorLancamento.decodificar(pagina.getProximoCursor())).isEqualTo(CursorLancamento.de(segundo));
+	}
+
+	// Teste 07.2 - Deve rejeitar cursor inválido.
+	@Test
+	public void deveLancarErroAoBuscarPaginaComCursorInvalido() {
+		Throwable erro = catchThrowable(() -> lancamentoService.buscarPagina(new Lancamento(), "invalido", 10));
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Cursor de paginação inválido.");
+	}
+
+	// Teste 07.3 - A paginação por cursor não aceita ordenação própria nem faixas invertidas.
+	@Test
+	public void deveRejeitarOrdenacaoEFaixaInvertidaNaPaginacao() {
+		FiltroLancamento ordenado = FiltroLancamento.builder().idUsuario(1L)
+				.ordenacao(FiltroLancamento.ordenacao(Arrays.asList("-valor"))).build();
+		FiltroLancamento invertido = FiltroLancamento.builder().idUsuario(1L)
+				.valorMinimo(BigDecimal.TEN).valorMaximo(BigDecimal.ONE).build();
+
+		assertThat(catchThrowable(() -> lancamentoService.buscarPagina(ordenado, null, 10, false)))
+				.isInstanceOf(RegraNegocioException.class);
+		assertThat(catchThrowable(() -> lancamentoService.buscarPagina(invertido, null, 10, false)))
+				.isInstanceOf(RegraNegocioException.class).hasMessage("O valor mínimo deve ser menor que o máximo!");
+		Mockito.verifyNoInteractions(repository);
+	}
+
+	// Teste 07.4 - Os totais da busca completa são somados sobre o resultado, sem outra consulta.
+	@Test
+	public void deveSomarOsTotaisSobreOResultadoDaBusca() {
+		// Cenário
+		LancamentoProjecao receita = criarProjecao(1L);
+		LancamentoProjecao despesa = new LancamentoProjecao(2L, "aluguel", 1, 2020, BigDecimal.valueOf(4), 1L,
+				TipoLancamento.DESPESA, StatusLancamento.PENDENTE);
+		Mockito.when(repository.buscar(Mockito.any(Specification.class), Mockito.any(Sort.class)))
+				.thenReturn(Arrays.asList(receita, despesa));
 
 		// Execução
-		List<Lancamento> resultado = lancamentoService.buscar(lancamento);
+		PaginaLancamentos pagina = lancamentoService
+				.buscarComTotais(FiltroLancamento.builder().idUsuario(1L).build(), 0L);
 
 		// Verificações
-		assertThat(resultado).isNotEmpty().hasSize(1).contains(lancamento);
+		assertThat(pagina.getItens()).containsExactly(receita, despesa);
+		assertThat(pagina.getQuantidadeTotal()).isEqualTo(2L);
+		assertThat(pagina.getTotais().getDespesas()).isEqualByComparingTo("4");
+		assertThat(pagina.getTotais().getSaldo()).isEqualByComparingTo(receita.getValor().subtract(BigDecimal.valueOf(4)));
+		Mockito.verify(repository, Mockito.never()).totalizarPorTipo(Mockito.any(Specification.class));
 	}
 
 	// Teste 08 - Atualizar status.
@@ -163,6 +324,63 @@ public class LancamentoServiceTest {
 		Mockito.verify(lancamentoService).atualizar(lancamento);
 	}
 
+	// Teste 08.0 - Atualizar status pelo id lê o lançamento uma vez e publica a alteração.
+	@Test
+	public void deveAtualizarOStatusPeloId() {
+		// Cenário
+		Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+		lancamento.setId(1L);
+		lancamento.setStatus(StatusLancamento.PENDENTE);
+		lancamento.setUsuario(Usuario.builder().id(1L).build());
+		Mockito.when(repository.obterParaAlteracao(1L)).thenReturn(Optional.of(lancamento));
+
+		// Execução
+		Lancamento atualizado = lancamentoService.atualizarStatus(1L, StatusLancamento.EFETIVADO);
+
+		// Verificação
+		assertThat(atualizado.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		Mockito.verify(repository, Mockito.never()).findById(Mockito.anyLong());
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any(Lancamento.class));
+	}
+
+	// Teste 08.1 - Atualizar status em massa com um único UPDATE.
+	@Test
+	public void deveAtualizarOStatusDeVariosLancamentos() {
+		// Cenário
+		GrupoLancamento grupo = new GrupoLancamento(1L, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+				BigDecimal.TEN, 2L);
+		Mockito.when(repository.bloquear(Mockito.any(Specification.class))).thenReturn(2);
+		Mockito.when(repository.agrupar(Mockito.any(Specification.class))).thenReturn(Arrays.asList(grupo));
+		Mockito.when(repository.atualizarStatus(Mockito.any(Specification.class), Mockito.eq(StatusLancamento.EFETIVADO)))
+				.thenReturn(2);
+
+		// Execução
+		int atualizados = lancamentoService.atualizarStatusPorIds(1L, Arrays.asList(1L, 2L), StatusLancamento.EFETIVADO);
+
+		// Verificação
+		assertThat(atualizados).isEqualTo(2);
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any(Lancamento.class));
+	}
+
+	// Teste 08.1.1 - Atualizar status por ids exige o usuário.
+	@Test
+	public void deveLancarErroAoAtualizarStatusPorIdsSemUsuario() {
+		Throwable erro = catchThrowable(() -> lancamentoService.atualizarStatusPorIds(null, Arrays.asList(1L),
+				StatusLancamento.EFETIVADO));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um Usuário!");
+		Mockito.verifyNoInteractions(repository);
+	}
+
+	// Teste 08.2 - Atualizar status por filtro exige o usuário.
+	@Test
+	public void deveLancarErroAoAtualizarStatusPorFiltroSemUsuario() {
+		Throwable erro = catchThrowable(() -> lancamentoService.atualizarStatusPorFiltro(new Lancamento(), StatusLancamento.EFETIVADO));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um Usuário!");
+		Mockito.verify(repository, Mockito.never()).atualizarStatus(Mockito.any(Specification.class), Mockito.any(StatusLancamento.class));
+	}
+
 	// Teste 09 - Deve obter um lancamento por Id.
 	@Test
 	public void deveObterUmLancamentoPorId() {
@@ -269,18 +487,50 @@ public class LancamentoServiceTest {
 		//cenario
 		Long idUsuario = 1L;
 		
-		Mockito.when( repository
-				.obterSaldoPorTipoLancamentoEUsuarioEStatus(idUsuario, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO)) 
-				.thenReturn(BigDecimal.valueOf(100));
-		
-		Mockito.when( repository
-				.obterSaldoPorTipoLancamentoEUsuarioEStatus(idUsuario, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO)) 
-				.thenReturn(BigDecimal.valueOf(50));
+		Mockito.when(repository.obterTotaisPorTipoEStatus(idUsuario)).thenReturn(Arrays.asList(
+				criarTotal(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100),
+				criarTotal(TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 50),
+				criarTotal(TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 30)));
 		
 		//execucao
 		BigDecimal saldo = lancamentoService.obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(idUsuario);
 		
 		//verificacao
 		assertThat(saldo).isEqualTo(BigDecimal.valueOf(50));
+		Mockito.verify(repository, Mockito.times(1)).obterTotaisPorTipoEStatus(idUsuario);
+	}
+	
+	@Test
+	public void deveObterSaldoDetalhadoPorStatusEmUmaConsulta() {
+		//cenario
+		Long idUsuario = 1L;
+		
+		Mockito.when(repository.obterTotaisPorTipoEStatus(idUsuario)).thenReturn(Arrays.asList(
+				criarTotal(TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100),
+				criarTotal(TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 40),
+				criarTotal(TipoLancamento.DESPESA, StatusLancamento.CANCELADO, 10)));
+		
+		//execucao
+		Map<StatusLancamento, TotaisLancamento> detalhado = lancamentoService.obterSaldoDetalhado(idUsuario);
+		
+		//verificacao
+		assertThat(detalhado.get(StatusLancamento.EFETIVADO).getSaldo()).isEqualTo(BigDecimal.valueOf(100));
+		assertThat(detalhado.get(StatusLancamento.PENDENTE).getDespesas()).isEqualTo(BigDecimal.valueOf(40));
+		assertThat(detalhado.get(StatusLancamento.PENDENTE).getSaldo()).isEqualTo(BigDecimal.valueOf(-40));
+		assertThat(detalhado.get(StatusLancamento.CANCELADO).getReceitas()).isEqualTo(BigDecimal.ZERO);
+		Mockito.verify(repository, Mockito.times(1)).obterTotaisPorTipoEStatus(idUsuario);
+	}
+	
+	private TotalLancamento criarTotal(TipoLancamento tipo, StatusLancamento status, int total) {
+		return new TotalLancamento() {
+			public TipoLancamento getTipo() { return tipo; }
+			public StatusLancamento getStatus() { return status; }
+			public BigDecimal getTotal() { return BigDecimal.valueOf(total); }
+		};
+	}
+
+	private LancamentoProjecao criarProjecao(Long id) {
+		return new LancamentoProjecao(id, "lancamento qualquer", 1, 2019, BigDecimal.valueOf(10), 1L,
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE);
 	}
 }
@@ -0,0 +1,41 @@
+package com.datoro.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Year;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.model.repository.LancamentoRepository;
+import com.datoro.minhasfinancas.service.impl.ParticaoLancamentoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ParticaoLancamentoServiceTest {
+
+	@SpyBean
+	ParticaoLancamentoServiceImpl service;
+
+	@MockBean
+	LancamentoRepository repository;
+
+	// Teste 01 - Cria as partições do ano corrente e do próximo.
+	@Test
+	public void deveCriarAsParticoesDoAnoCorrenteEDoProximo() {
+		int ano = Year.now().getValue();
+		Mockito.when(repository.criarParticao(Mockito.anyInt())).then(chamada -> "lancamento_" + chamada.getArgument(0));
+
+		List<String> particoes = service.criarParticoesDoAnoCorrenteEDoProximo();
+
+		assertThat(particoes).containsExactly("lancamento_" + ano, "lancamento_" + (ano + 1));
+		Mockito.verify(repository).criarParticao(ano);
+		Mockito.verify(repository).criarParticao(ano + 1);
+	}
+}
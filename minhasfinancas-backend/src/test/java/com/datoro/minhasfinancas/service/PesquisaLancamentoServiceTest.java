@@ -0,0 +1,90 @@
+package com.datoro.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoProjecao;
+import com.datoro.minhasfinancas.service.impl.PesquisaLancamentoMemoriaServiceImpl;
+
+/**
+ * Pesquisa pelo índice em memória do perfil test, sobre o H2 real, para conferir
+ * que o índice acompanha as escritas confirmadas.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+public class PesquisaLancamentoServiceTest {
+
+	@Autowired
+	PesquisaLancamentoService pesquisaService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	// Teste 01 - Sem banco com trigramas, a pesquisa usa o índice em memória.
+	@Test
+	public void deveUsarOIndiceEmMemoriaNoH2() {
+		assertThat(pesquisaService).isInstanceOf(PesquisaLancamentoMemoriaServiceImpl.class);
+	}
+
+	// Teste 02 - A pesquisa devolve os lançamentos do usuário por relevância.
+	@Test
+	public void devePesquisarOsLancamentosDoUsuario() {
+		Usuario usuario = criarUsuario("pesquisa1@email.com");
+		Usuario outro = criarUsuario("pesquisa2@email.com");
+		Lancamento mercadinho = salvar(usuario, "Mercadinho");
+		Lancamento mercado = salvar(usuario, "Mercado São João");
+		salvar(outro, "Mercado");
+
+		assertThat(ids(pesquisaService.pesquisar(usuario.getId(), "MERCADO sao", 10))).containsExactly(mercado.getId());
+		assertThat(ids(pesquisaService.pesquisar(usuario.getId(), "merc", 10)))
+				.containsExactly(mercadinho.getId(), mercado.getId());
+	}
+
+	// Teste 03 - Inclusões, alterações e exclusões depois da montagem do índice aparecem na pesquisa.
+	@Test
+	public void deveAcompanharAsEscritasDepoisDaMontagem() {
+		Usuario usuario = criarUsuario("pesquisa3@email.com");
+		Lancamento lancamento = salvar(usuario, "Farmácia");
+		assertThat(ids(pesquisaService.pesquisar(usuario.getId(), "farm", 10))).containsExactly(lancamento.getId());
+
+		lancamento.setDescricao("Padaria");
+		lancamentoService.atualizar(lancamento);
+		Lancamento novo = salvar(usuario, "Farmácia popular");
+
+		assertThat(ids(pesquisaService.pesquisar(usuario.getId(), "farm", 10))).containsExactly(novo.getId());
+		assertThat(ids(pesquisaService.pesquisar(usuario.getId(), "padaria", 10))).containsExactly(lancamento.getId());
+
+		lancamentoService.deletar(lancamento);
+		assertThat(pesquisaService.pesquisar(usuario.getId(), "padaria", 10)).isEmpty();
+	}
+
+	private List<Long> ids(List<LancamentoProjecao> lancamentos) {
+		return lancamentos.stream().map(LancamentoProjecao::getId).collect(Collectors.toList());
+	}
+
+	private Usuario criarUsuario(String email) {
+		return usuarioService.salvarUsuario(Usuario.builder().nome("usuario").email(email).senha("senha").build());
+	}
+
+	private Lancamento salvar(Usuario usuario, String descricao) {
+		return lancamentoService.salvar(Lancamento.builder().descricao(descricao).mes(1).ano(2020)
+				.valor(BigDecimal.TEN).tipo(TipoLancamento.RECEITA).usuario(usuario).build());
+	}
+}
@@ -0,0 +1,161 @@
+package com.datoro.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.exception.RegraNegocioException;
+import com.datoro.minhasfinancas.model.entity.ResumoMensal;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.repository.GrupoLancamento;
+import com.datoro.minhasfinancas.model.repository.LancamentoRepository;
+import com.datoro.minhasfinancas.model.repository.ResumoMensalRepository;
+import com.datoro.minhasfinancas.model.repository.SaldoMensal;
+import com.datoro.minhasfinancas.model.resultado.TotaisMes;
+import com.datoro.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.datoro.minhasfinancas.service.event.LancamentosIncluidosEvent;
+import com.datoro.minhasfinancas.service.event.MovimentoLancamento;
+import com.datoro.minhasfinancas.service.event.StatusLancamentosAlteradosEvent;
+import com.datoro.minhasfinancas.service.impl.ResumoMensalServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class ResumoMensalServiceTest {
+
+	@SpyBean
+	ResumoMensalServiceImpl resumoMensalService;
+
+	@MockBean
+	ResumoMensalRepository repository;
+
+	@MockBean
+	LancamentoRepository lancamentoRepository;
+
+	// Teste 01 - Atualização move o valor entre as chaves do resumo.
+	@Test
+	public void deveMoverOValorEntreStatusAoAtualizar() {
+		MovimentoLancamento pendente = criarMovimento(StatusLancamento.PENDENTE, 100);
+		MovimentoLancamento efetivado = criarMovimento(StatusLancamento.EFETIVADO, 100);
+
+		resumoMensalService.aoAlterarLancamento(new LancamentoAlteradoEvent(pendente, efetivado));
+
+		Mockito.verify(repository).somar(1L, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+				BigDecimal.valueOf(-100), -1L);
+		Mockito.verify(repository).somar(1L, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO,
+				BigDecimal.valueOf(100), 1L);
+	}
+
+	// Teste 02 - Inclusão em lote gera um upsert por chave.
+	@Test
+	public void deveAgruparAInclusaoEmLotePorChave() {
+		List<MovimentoLancamento> movimentos = Arrays.asList(criarMovimento(StatusLancamento.PENDENTE, 10),
+				criarMovimento(StatusLancamento.PENDENTE, 20), criarMovimento(StatusLancamento.PENDENTE, 30));
+
+		resumoMensalService.aoIncluirLancamentos(new LancamentosIncluidosEvent(movimentos));
+
+		Mockito.verify(repository, Mockito.times(1)).somar(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyInt(),
+				Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong());
+		Mockito.verify(repository).somar(1L, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+				BigDecimal.valueOf(60), 3L);
+	}
+
+	// Teste 03 - Alteração de status em massa move grupos inteiros.
+	@Test
+	public void deveMoverOsGruposNaAlteracaoDeStatusEmMassa() {
+		GrupoLancamento grupo = new GrupoLancamento(1L, 2020, 8, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+				BigDecimal.valueOf(50), 5L);
+
+		resumoMensalService.aoAlterarStatus(new StatusLancamentosAlteradosEvent(Arrays.asList(grupo), StatusLancamento.EFETIVADO));
+
+		Mockito.verify(repository).somar(1L, 2020, 8, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+				BigDecimal.valueOf(-50), -5L);
+		Mockito.verify(repository).somar(1L, 2020, 8, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO,
+				BigDecimal.valueOf(50), 5L);
+	}
+
+	// Teste 04 - O resumo anual sempre traz os 12 meses.
+	@Test
+	public void deveMontarOResumoAnualComDozeMeses() {
+		Mockito.when(repository.findByIdUsuarioAndAnoAndStatusNot(1L, 2020, StatusLancamento.CANCELADO)).thenReturn(Arrays.asList(
+				ResumoMensal.builder().idUsuario(1L).ano(2020).mes(8).tipo(TipoLancamento.RECEITA)
+						.status(StatusLancamento.EFETIVADO).total(BigDecimal.valueOf(100)).quantidade(1L).build(),
+				ResumoMensal.builder().idUsuario(1L).ano(2020).mes(8).tipo(TipoLancamento.DESPESA)
+						.status(StatusLancamento.EFETIVADO).total(BigDecimal.valueOf(40)).quantidade(2L).build()));
+
+		List<TotaisMes> resumo = resumoMensalService.obterResumoAnual(1L, 2020);
+
+		assertThat(resumo).hasSize(12);
+		assertThat(resumo.get(7).getEfetivado().getSaldo()).isEqualTo(BigDecimal.valueOf(60));
+		assertThat(resumo.get(0).getEfetivado().getSaldo()).isEqualTo(BigDecimal.ZERO);
+	}
+
+	// Teste 05 - A série parte do saldo anterior ao mês inicial e repete o saldo nos meses sem movimento.
+	@Test
+	public void deveMontarASerieDeSaldoComTodosOsMeses() {
+		List<SaldoMensal> acumulados = Arrays.asList(saldoMensal(2019, 11, 50), saldoMensal(2020, 2, 80),
+				saldoMensal(2020, 4, 20));
+		Mockito.when(repository.obterSaldosAcumulados(1L, 2020, 4)).thenReturn(acumulados);
+
+		List<SaldoMensal> serie = resumoMensalService.obterSerieSaldo(1L, YearMonth.of(2020, 1), YearMonth.of(2020, 4));
+
+		assertThat(serie).extracting(SaldoMensal::getMes).containsExactly(1, 2, 3, 4);
+		assertThat(serie).extracting(SaldoMensal::getSaldo).containsExactly(BigDecimal.valueOf(50),
+				BigDecimal.valueOf(80), BigDecimal.valueOf(80), BigDecimal.valueOf(20));
+	}
+
+	// Teste 06 - A série rejeita intervalo invertido.
+	@Test
+	public void naoDeveMontarASerieComIntervaloInvertido() {
+		Throwable erro = catchThrowable(() -> resumoMensalService.obterSerieSaldo(1L, YearMonth.of(2020, 5),
+				YearMonth.of(2020, 4)));
+
+		assertThat(erro).isInstanceOf(RegraNegocioException.class);
+		Mockito.verifyNoInteractions(repository);
+	}
+
+	// Teste 07 - O recálculo bloqueia os lançamentos do usuário antes de apagar e regravar o resumo.
+	@Test
+	public void deveBloquearOsLancamentosAntesDeRecalcular() {
+		GrupoLancamento grupo = new GrupoLancamento(1L, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO,
+				BigDecimal.valueOf(70), 2L);
+		Mockito.when(lancamentoRepository.agrupar(Mockito.any(Specification.class))).thenReturn(Arrays.asList(grupo));
+
+		resumoMensalService.recalcular(1L);
+
+		InOrder ordem = Mockito.inOrder(lancamentoRepository, repository);
+		ordem.verify(lancamentoRepository).bloquear(Mockito.any(Specification.class));
+		ordem.verify(repository).excluirPorUsuario(1L);
+		ordem.verify(lancamentoRepository).agrupar(Mockito.any(Specification.class));
+		ordem.verify(repository).somar(1L, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO,
+				BigDecimal.valueOf(70), 2L);
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any(ResumoMensal.class));
+	}
+
+	private SaldoMensal saldoMensal(int ano, int mes, int saldo) {
+		SaldoMensal saldoMensal = Mockito.mock(SaldoMensal.class);
+		Mockito.when(saldoMensal.getAno()).thenReturn(ano);
+		Mockito.when(saldoMensal.getMes()).thenReturn(mes);
+		Mockito.when(saldoMensal.getSaldo()).thenReturn(BigDecimal.valueOf(saldo));
+		return saldoMensal;
+	}
+
+	private MovimentoLancamento criarMovimento(StatusLancamento status, int valor) {
+		return MovimentoLancamento.builder().id(1L).idUsuario(1L).ano(2020).mes(8).tipo(TipoLancamento.RECEITA)
+				.status(status).valor(BigDecimal.valueOf(valor)).build();
+	}
+}
@@ -0,0 +1,106 @@
+package com.datoro.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.model.entity.SaldoDiario;
+import com.datoro.minhasfinancas.model.repository.SaldoDiarioRepository;
+import com.datoro.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.datoro.minhasfinancas.service.impl.SaldoDiarioServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class SaldoDiarioServiceTest {
+
+	static final LocalDate DIA = LocalDate.of(2020, 8, 10);
+
+	@SpyBean
+	SaldoDiarioServiceImpl service;
+
+	@MockBean
+	SaldoDiarioRepository repository;
+
+	@MockBean
+	SaldoUsuarioRepository saldoUsuarioRepository;
+
+	@MockBean
+	VersaoUsuarioService versaoService;
+
+	// Teste 01 - Sem linha do dia para atualizar, insere uma.
+	@Test
+	public void deveInserirALinhaDoDiaQuandoNaoExistir() {
+		Mockito.when(repository.atualizarDoSaldoAtual(Mockito.eq(1L), Mockito.any(LocalDate.class))).thenReturn(0);
+
+		service.registrar(1L);
+
+		Mockito.verify(repository).inserirDoSaldoAtual(Mockito.eq(1L), Mockito.any(LocalDate.class));
+	}
+
+	// Teste 02 - Com a linha do dia já gravada, só atualiza.
+	@Test
+	public void deveAtualizarALinhaDoDiaExistente() {
+		Mockito.when(repository.atualizarDoSaldoAtual(Mockito.eq(1L), Mockito.any(LocalDate.class))).thenReturn(1);
+
+		service.registrar(1L);
+
+		Mockito.verify(repository, Mockito.never()).inserirDoSaldoAtual(Mockito.anyLong(), Mockito.any(LocalDate.class));
+	}
+
+	// Teste 03 - O saldo em uma data vem do último registro até ela.
+	@Test
+	public void deveObterOSaldoDoUltimoRegistroAteAData() {
+		SaldoDiario registro = SaldoDiario.builder().idUsuario(1L).data(DIA.minusDays(3)).saldo(BigDecimal.TEN).build();
+		Mockito.when(repository.findFirstByIdUsuarioAndDataLessThanEqualOrderByDataDesc(1L, DIA))
+				.thenReturn(Optional.of(registro));
+
+		assertThat(service.obterSaldoEm(1L, DIA)).contains(registro);
+	}
+
+	// Teste 04 - Sem registro até a data, não há saldo.
+	@Test
+	public void deveRetornarZeroSemRegistroAteAData() {
+		Mockito.when(repository.findFirstByIdUsuarioAndDataLessThanEqualOrderByDataDesc(1L, DIA))
+				.thenReturn(Optional.empty());
+
+		assertThat(service.obterSaldoEm(1L, DIA)).isEmpty();
+	}
+
+	// Teste 05 - A reconciliação bloqueia o saldo_usuario antes de registrar cada divergente.
+	@Test
+	public void deveRegistrarOsUsuariosDivergentes() {
+		Mockito.when(repository.obterUsuariosDivergentes()).thenReturn(Arrays.asList(1L, 2L));
+		Mockito.when(repository.atualizarDoSaldoAtual(Mockito.anyLong(), Mockito.any(LocalDate.class))).thenReturn(1);
+
+		int corrigidos = service.reconciliar();
+
+		assertThat(corrigidos).isEqualTo(2);
+		InOrder ordem = Mockito.inOrder(saldoUsuarioRepository, repository);
+		ordem.verify(saldoUsuarioRepository).obterParaAlteracao(1L);
+		ordem.verify(repository).atualizarDoSaldoAtual(Mockito.eq(1L), Mockito.any(LocalDate.class));
+		Mockito.verify(versaoService).incrementar(1L);
+		Mockito.verify(versaoService).incrementar(2L);
+	}
+
+	// Teste 06 - Sem divergência, a reconciliação não grava nada.
+	@Test
+	public void naoDeveGravarNadaSemDivergencia() {
+		Mockito.when(repository.obterUsuariosDivergentes()).thenReturn(Collections.emptyList());
+
+		assertThat(service.reconciliar()).isZero();
+		Mockito.verifyNoInteractions(saldoUsuarioRepository, versaoService);
+	}
+}
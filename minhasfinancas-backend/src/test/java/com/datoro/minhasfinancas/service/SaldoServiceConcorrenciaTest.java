@@ -0,0 +1,82 @@
+package com.datoro.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.model.entity.Lancamento;
+import com.datoro.minhasfinancas.model.entity.Usuario;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.repository.SaldoUsuarioRepository;
+
+/**
+ * Escritas de lançamento concorrentes com a verificação do saldo, sobre o H2 real.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@SpringBootTest
+public class SaldoServiceConcorrenciaTest {
+
+	@Autowired
+	SaldoService saldoService;
+
+	@SpyBean
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	SaldoUsuarioRepository saldoUsuarioRepository;
+
+	// Teste 01 - Um delta aplicado enquanto o saldo é recalculado não é sobrescrito pelo recálculo.
+	@Test
+	public void naoDevePerderODeltaConcorrenteAoRecalcular() throws Exception {
+		Usuario usuario = usuarioService.salvarUsuario(
+				Usuario.builder().nome("usuario").email("concorrencia1@email.com").senha("senha").build());
+		Lancamento efetivado = salvar(usuario, 100);
+		lancamentoService.atualizarStatus(efetivado.getId(), StatusLancamento.EFETIVADO);
+		Lancamento pendente = salvar(usuario, 50);
+
+		// Logo depois do cálculo, outra transação efetiva o lançamento pendente e tenta terminar
+		// antes que o recálculo grave o saldo.
+		AtomicReference<CompletableFuture<Lancamento>> concorrente = new AtomicReference<>();
+		Mockito.doAnswer(invocacao -> {
+			Object calculado = invocacao.callRealMethod();
+			if (concorrente.get() == null) {
+				concorrente.set(CompletableFuture.supplyAsync(
+						() -> lancamentoService.atualizarStatus(pendente.getId(), StatusLancamento.EFETIVADO)));
+				try {
+					concorrente.get().get(300, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					// Esperando o bloqueio do saldo, como deve ser.
+				}
+			}
+			return calculado;
+		}).when(lancamentoService).obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(usuario.getId());
+
+		assertThat(saldoService.recalcular(usuario.getId()).getSaldoCalculado()).isEqualByComparingTo("100");
+		concorrente.get().get(5, TimeUnit.SECONDS);
+
+		assertThat(saldoUsuarioRepository.findById(usuario.getId()).get().getSaldo()).isEqualByComparingTo("150");
+	}
+
+	private Lancamento salvar(Usuario usuario, int valor) {
+		return lancamentoService.salvar(Lancamento.builder().descricao("lancamento").mes(1).ano(2020)
+				.valor(BigDecimal.valueOf(valor)).tipo(TipoLancamento.RECEITA).usuario(usuario).build());
+	}
+}
@@ -0,0 +1,162 @@
+package com.datoro.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.model.entity.SaldoUsuario;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.repository.GrupoLancamento;
+import com.datoro.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.datoro.minhasfinancas.model.resultado.VerificacaoSaldo;
+import com.datoro.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.datoro.minhasfinancas.service.event.MovimentoLancamento;
+import com.datoro.minhasfinancas.service.event.StatusLancamentosAlteradosEvent;
+import com.datoro.minhasfinancas.service.impl.SaldoServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class SaldoServiceTest {
+
+	@SpyBean
+	SaldoServiceImpl saldoService;
+
+	@MockBean
+	SaldoUsuarioRepository repository;
+
+	@MockBean
+	LancamentoService lancamentoService;
+
+	@MockBean
+	VersaoUsuarioService versaoService;
+
+	@MockBean
+	SaldoDiarioService saldoDiarioService;
+
+	// Teste 01 - Lançamento incluído como pendente não altera o saldo.
+	@Test
+	public void naoDeveAlterarOSaldoAoIncluirLancamentoPendente() {
+		MovimentoLancamento pendente = criarMovimento(1L, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 100);
+
+		saldoService.aoAlterarLancamento(new LancamentoAlteradoEvent(null, pendente));
+
+		Mockito.verify(repository, Mockito.never()).somarAoSaldo(Mockito.anyLong(), Mockito.any(BigDecimal.class));
+		Mockito.verify(saldoDiarioService, Mockito.never()).registrar(Mockito.anyLong());
+	}
+
+	// Teste 02 - Efetivar uma receita soma o valor ao saldo.
+	@Test
+	public void deveSomarAoSaldoAoEfetivarUmaReceita() {
+		MovimentoLancamento pendente = criarMovimento(1L, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 100);
+		MovimentoLancamento efetivado = criarMovimento(1L, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100);
+		Mockito.when(repository.somarAoSaldo(1L, BigDecimal.valueOf(100))).thenReturn(1);
+
+		saldoService.aoAlterarLancamento(new LancamentoAlteradoEvent(pendente, efetivado));
+
+		Mockito.verify(repository).somarAoSaldo(1L, BigDecimal.valueOf(100));
+		Mockito.verify(saldoService, Mockito.never()).recalcular(1L);
+		Mockito.verify(saldoDiarioService).registrar(1L);
+	}
+
+	// Teste 03 - Excluir uma despesa efetivada devolve o valor ao saldo.
+	@Test
+	public void deveDevolverOValorAoExcluirUmaDespesaEfetivada() {
+		MovimentoLancamento despesa = criarMovimento(1L, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 30);
+		Mockito.when(repository.somarAoSaldo(1L, BigDecimal.valueOf(30))).thenReturn(1);
+
+		saldoService.aoAlterarLancamento(new LancamentoAlteradoEvent(despesa, null));
+
+		Mockito.verify(repository).somarAoSaldo(1L, BigDecimal.valueOf(30));
+	}
+
+	// Teste 04 - Sem registro de saldo, recalcula a partir dos lançamentos.
+	@Test
+	public void deveRecalcularQuandoNaoExistirRegistroDeSaldo() {
+		MovimentoLancamento efetivado = criarMovimento(1L, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 100);
+		Mockito.when(repository.somarAoSaldo(1L, BigDecimal.valueOf(100))).thenReturn(0);
+		Mockito.when(lancamentoService.obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(1L)).thenReturn(BigDecimal.valueOf(100));
+
+		saldoService.aoAlterarLancamento(new LancamentoAlteradoEvent(null, efetivado));
+
+		Mockito.verify(repository).criarOuSomar(1L, BigDecimal.valueOf(100), BigDecimal.valueOf(100));
+		Mockito.verify(saldoDiarioService, Mockito.times(1)).registrar(1L);
+	}
+
+	// Teste 05 - A verificação informa a divergência, corrige o registro e muda a versão dos dados do usuário.
+	@Test
+	public void deveInformarDivergenciaAoRecalcular() {
+		SaldoUsuario registrado = SaldoUsuario.builder().idUsuario(1L).saldo(BigDecimal.valueOf(80)).build();
+		Mockito.when(repository.obterParaAlteracao(1L)).thenReturn(Optional.of(registrado));
+		Mockito.when(lancamentoService.obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(1L)).thenReturn(BigDecimal.valueOf(100));
+
+		VerificacaoSaldo verificacao = saldoService.recalcular(1L);
+
+		assertThat(verificacao.getDivergencia()).isEqualTo(BigDecimal.valueOf(20));
+		assertThat(registrado.getSaldo()).isEqualTo(BigDecimal.valueOf(100));
+		Mockito.verify(versaoService).incrementar(1L);
+		// O registro é bloqueado antes do cálculo.
+		InOrder ordem = Mockito.inOrder(repository, lancamentoService);
+		ordem.verify(repository).obterParaAlteracao(1L);
+		ordem.verify(lancamentoService).obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(1L);
+		ordem.verify(repository).saveAndFlush(registrado);
+	}
+
+	// Teste 05.1 - Sem registro, o recálculo cria a linha bloqueada antes de calcular.
+	@Test
+	public void deveCriarORegistroBloqueadoAoRecalcularSemSaldo() {
+		SaldoUsuario criado = SaldoUsuario.builder().idUsuario(1L).saldo(BigDecimal.ZERO).build();
+		Mockito.when(repository.obterParaAlteracao(1L)).thenReturn(Optional.empty(), Optional.of(criado));
+		Mockito.when(lancamentoService.obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(1L)).thenReturn(BigDecimal.valueOf(100));
+
+		VerificacaoSaldo verificacao = saldoService.recalcular(1L);
+
+		assertThat(verificacao.getSaldoRegistrado()).isNull();
+		assertThat(criado.getSaldo()).isEqualTo(BigDecimal.valueOf(100));
+		InOrder ordem = Mockito.inOrder(repository, lancamentoService);
+		ordem.verify(repository).criarOuSomar(1L, BigDecimal.ZERO, BigDecimal.ZERO);
+		ordem.verify(lancamentoService).obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(1L);
+		ordem.verify(repository).saveAndFlush(criado);
+		Mockito.verify(versaoService, Mockito.never()).incrementar(1L);
+	}
+
+	// Teste 06 - Leitura do saldo usa o registro mantido.
+	@Test
+	public void deveObterOSaldoDoRegistro() {
+		Mockito.when(repository.findById(1L))
+				.thenReturn(Optional.of(SaldoUsuario.builder().idUsuario(1L).saldo(BigDecimal.TEN).build()));
+
+		assertThat(saldoService.obterSaldo(1L)).isEqualTo(BigDecimal.TEN);
+		Mockito.verify(lancamentoService, Mockito.never()).obterSaldoPorUsuarioTipoLancamentoEStatusLancamento(1L);
+	}
+
+	// Teste 07 - Alteração de status em massa aplica um delta por usuário.
+	@Test
+	public void deveAplicarUmDeltaPorUsuarioNaAlteracaoEmMassa() {
+		GrupoLancamento receitas = new GrupoLancamento(1L, 2020, 8, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+				BigDecimal.valueOf(100), 2L);
+		GrupoLancamento despesas = new GrupoLancamento(1L, 2020, 8, TipoLancamento.DESPESA, StatusLancamento.CANCELADO,
+				BigDecimal.valueOf(30), 1L);
+		Mockito.when(repository.somarAoSaldo(Mockito.eq(1L), Mockito.any(BigDecimal.class))).thenReturn(1);
+
+		saldoService.aoAlterarStatus(new StatusLancamentosAlteradosEvent(Arrays.asList(receitas, despesas), StatusLancamento.EFETIVADO));
+
+		Mockito.verify(repository, Mockito.times(1)).somarAoSaldo(1L, BigDecimal.valueOf(70));
+	}
+
+	private MovimentoLancamento criarMovimento(Long idUsuario, TipoLancamento tipo, StatusLancamento status, int valor) {
+		return MovimentoLancamento.builder().id(1L).idUsuario(idUsuario).ano(2020).mes(8).tipo(tipo).status(status)
+				.valor(BigDecimal.valueOf(valor)).build();
+	}
+}
@@ -51,6 +51,7 @@ public class UsuarioServiceTest {
 		Assertions.assertThat(usuarioSalvo.getNome()).isEqualTo("nome");
 		Assertions.assertThat(usuarioSalvo.getEmail()).isEqualTo("email@gmail.com");
 		Assertions.assertThat(usuarioSalvo.getSenha()).isEqualTo("senha");
+		Mockito.verify(repository).removerDoCache(usuario);
 	}
 	
 	//Teste Usuario: 2  (nao deve salvar usuario com sucesso)
@@ -140,4 +141,33 @@ public class UsuarioServiceTest {
 
 		assertThrows(RegraNegocioException.class, () -> service.validarEmail("email@gmail.com"));
 	}
-}
\ No newline at end of file
+
+	// Teste Usuario: 3 (Referência sem carregar o usuário)
+	@Test
+	public void deveObterReferenciaSemCarregarOUsuario() {
+
+		// cenário
+		Usuario referencia = Usuario.builder().id(1L).build();
+		Mockito.when(repository.findById(1L)).thenReturn(Optional.of(Usuario.builder().id(1L).nome("nome").build()));
+		Mockito.when(repository.getOne(1L)).thenReturn(referencia);
+
+		// ação
+		Optional<Usuario> resultado = service.obterReferencia(1L);
+
+		// verificação
+		Assertions.assertThat(resultado).containsSame(referencia);
+	}
+
+	// Teste Usuario: 4 (Sem referência para usuário inexistente)
+	@Test
+	public void naoDeveObterReferenciaDeUsuarioInexistente() {
+
+		// cenário
+		Mockito.when(repository.findById(1L)).thenReturn(Optional.empty());
+
+		// ação e verificação
+		Assertions.assertThat(service.obterReferencia(1L)).isEmpty();
+		Assertions.assertThat(service.obterReferencia(null)).isEmpty();
+		Mockito.verify(repository, Mockito.never()).getOne(Mockito.anyLong());
+	}
+}
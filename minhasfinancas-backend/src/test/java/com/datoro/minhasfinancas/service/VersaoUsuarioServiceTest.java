@@ -0,0 +1,92 @@
+package com.datoro.minhasfinancas.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.datoro.minhasfinancas.model.entity.VersaoUsuario;
+import com.datoro.minhasfinancas.model.enums.StatusLancamento;
+import com.datoro.minhasfinancas.model.enums.TipoLancamento;
+import com.datoro.minhasfinancas.model.repository.GrupoLancamento;
+import com.datoro.minhasfinancas.model.repository.VersaoUsuarioRepository;
+import com.datoro.minhasfinancas.service.event.LancamentoAlteradoEvent;
+import com.datoro.minhasfinancas.service.event.MovimentoLancamento;
+import com.datoro.minhasfinancas.service.event.StatusLancamentosAlteradosEvent;
+import com.datoro.minhasfinancas.service.impl.VersaoUsuarioServiceImpl;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class VersaoUsuarioServiceTest {
+
+	@SpyBean
+	VersaoUsuarioServiceImpl versaoService;
+
+	@MockBean
+	VersaoUsuarioRepository repository;
+
+	// Teste 01 - Usuário sem registro está na versão 0.
+	@Test
+	public void deveInformarVersaoZeroSemRegistro() {
+		Mockito.when(repository.obterVersao(1L)).thenReturn(Optional.empty());
+
+		assertThat(versaoService.obterVersao(1L)).isZero();
+	}
+
+	// Teste 02 - Cada escrita incrementa a versão com um único upsert, sem save.
+	@Test
+	public void deveIncrementarComUmUnicoUpsert() {
+		versaoService.incrementar(1L);
+
+		Mockito.verify(repository).incrementar(1L);
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any(VersaoUsuario.class));
+	}
+
+	// Teste 03 - Lançamento sem usuário não muda versão alguma.
+	@Test
+	public void naoDeveIncrementarSemUsuario() {
+		versaoService.incrementar(null);
+
+		Mockito.verifyNoInteractions(repository);
+	}
+
+	// Teste 04 - Lançamento transferido de usuário muda a versão dos dois; no mesmo usuário, uma vez.
+	@Test
+	public void deveIncrementarOsUsuariosDeOrigemEDestino() {
+
+		versaoService.aoAlterarLancamento(new LancamentoAlteradoEvent(movimento(1L), movimento(2L)));
+		versaoService.aoAlterarLancamento(new LancamentoAlteradoEvent(movimento(3L), movimento(3L)));
+
+		Mockito.verify(repository).incrementar(1L);
+		Mockito.verify(repository).incrementar(2L);
+		Mockito.verify(repository).incrementar(3L);
+	}
+
+	// Teste 05 - Alteração de status em massa muda uma vez a versão de cada usuário atingido.
+	@Test
+	public void deveIncrementarCadaUsuarioDaAlteracaoEmMassa() {
+
+		versaoService.aoAlterarStatus(new StatusLancamentosAlteradosEvent(Arrays.asList(grupo(1L), grupo(2L), grupo(1L)),
+				StatusLancamento.EFETIVADO));
+
+		Mockito.verify(repository).incrementar(1L);
+		Mockito.verify(repository).incrementar(2L);
+	}
+
+	private MovimentoLancamento movimento(Long idUsuario) {
+		return MovimentoLancamento.builder().idUsuario(idUsuario).build();
+	}
+
+	private GrupoLancamento grupo(Long idUsuario) {
+		return new GrupoLancamento(idUsuario, 2020, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.TEN, 1L);
+	}
+}